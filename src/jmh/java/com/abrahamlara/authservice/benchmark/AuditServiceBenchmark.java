@@ -0,0 +1,41 @@
+package com.abrahamlara.authservice.benchmark;
+
+import com.abrahamlara.authservice.audit.config.AuditProperties;
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import com.abrahamlara.authservice.audit.service.AuditServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost added to a request by recording an audit event, with several request threads enqueueing at once.
+ * The sink discards batches, so this measures the hand-off to the writer, not the write itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AuditServiceBenchmark {
+
+    private AuditServiceImpl auditService;
+
+    @Setup
+    public void setup() {
+        auditService = new AuditServiceImpl(new AuditProperties(), batch -> { }, new SimpleMeterRegistry());
+        auditService.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        auditService.stop();
+    }
+
+    @Benchmark
+    public void record() {
+        auditService.record(AuditEventType.LOGIN_SUCCESS, BenchmarkFixtures.USERNAME, null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.abrahamlara.authservice.benchmark;
+
+import com.abrahamlara.authservice.auth.config.jwt.JwtProperties;
+import com.abrahamlara.authservice.auth.config.lookup.KnownIdentifierProperties;
+import com.abrahamlara.authservice.auth.config.lookup.KnownIdentifiers;
+import com.abrahamlara.authservice.auth.config.lookup.UserLookupProperties;
+import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.config.revocation.TokenVersionRegistry;
+import com.abrahamlara.authservice.auth.service.UserDetailsServiceImpl;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.user.config.UserResponseCacheProperties;
+import com.abrahamlara.authservice.user.mapper.UserMapper;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.User;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import com.abrahamlara.authservice.user.repository.UserRepository;
+import com.abrahamlara.authservice.user.service.UserResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared objects for the benchmarks, wired the same way Spring wires them at runtime.
+ */
+final class BenchmarkFixtures {
+
+    static final String USERNAME = "benchmark-admin";
+
+    private BenchmarkFixtures() {}
+
+    static AuthMetrics metrics() {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    static JwtService jwtService(AuthMetrics metrics) {
+        return jwtService(metrics, JwtProperties.TokenFormat.STANDARD);
+    }
+
+    static JwtService jwtService(AuthMetrics metrics, JwtProperties.TokenFormat format) {
+        JwtProperties properties = new JwtProperties();
+        properties.setFormat(format);
+        properties.setSecret(Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret-0123".getBytes()));
+        properties.setAccessTokenExpiration(3_600_000);
+        properties.setRefreshTokenExpiration(604_800_000);
+        return new JwtService(properties, metrics);
+    }
+
+    /**
+     * Filter that has not been loaded yet, so every identifier goes through to the repository stub.
+     */
+    static KnownIdentifiers knownIdentifiers() {
+        return new KnownIdentifiers(null, new KnownIdentifierProperties());
+    }
+
+    /**
+     * UserDetailsService over the repository stub, with lookups coalesced as configured by default.
+     */
+    static UserDetailsServiceImpl userDetailsService(AuthMetrics metrics) {
+        return new UserDetailsServiceImpl(userRepository(), metrics, knownIdentifiers(), new UserLookupProperties());
+    }
+
+    /**
+     * Registry whose first lookup per user hits a stub returning version 0; later ones come from memory.
+     */
+    static TokenVersionRegistry tokenVersions() {
+        return new TokenVersionRegistry(new JdbcTemplate() {
+            @Override
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                return List.of(elementType.cast(0L));
+            }
+        });
+    }
+
+    static User user() {
+        return User.builder()
+                .id(42L)
+                .username(USERNAME)
+                .email("benchmark@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1n5nK6u8vZ2x3Y9Q2K5Yp1e")
+                .role(Role.ADMIN)
+                .status(UserStatus.ACTIVE)
+                .version(1L)
+                .build();
+    }
+
+    /**
+     * Repository stub that always returns the same user, so the "real" UserDetailsService
+     * benchmarks measure mapping cost rather than database latency.
+     */
+    static UserRepository userRepository() {
+        UserRepository repository = mock(UserRepository.class);
+        Optional<User> user = Optional.of(user());
+        when(repository.findByUsernameOrEmail(anyString(), anyString())).thenReturn(user);
+        when(repository.findByUsername(anyString())).thenReturn(user);
+        when(repository.loadByUsername(anyString())).thenReturn(user);
+        when(repository.findById(anyLong())).thenReturn(user);
+        return repository;
+    }
+
+    /**
+     * Response cache over the repository stub; after the first lookup per id it answers from memory.
+     */
+    static UserResponseCache userResponseCache() {
+        return new UserResponseCache(userRepository(), new UserMapper(), TransactionOperations.withoutTransaction(),
+                new UserResponseCacheProperties(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,122 @@
+package com.abrahamlara.authservice.benchmark;
+
+import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.dto.AuthResponse;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.config.json.ResponseSerializersModule;
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import com.abrahamlara.authservice.shared.dto.ProblemDetails;
+import com.abrahamlara.authservice.user.dto.UserProfileResponse;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.security.core.userdetails.UserDetails;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies written the way the HTTP message converter writes them, to a reused output stream, with
+ * Jackson's reflective bean serializers, with Blackbird's generated accessors and with
+ * {@link ResponseSerializersModule}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"reflective", "blackbird", "specialised"})
+    public String serializers;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+
+    private JsonMapper mapper;
+    private AuthResponse authResponse;
+    private UserResponse userResponse;
+    private UserProfileResponse profile;
+    private ProblemDetails problem;
+    private Page<UserResponse> page;
+
+    @Setup
+    public void setup() {
+        JsonMapper.Builder builder = JsonMapper.builder();
+        switch (serializers) {
+            case "blackbird" -> builder.addModule(new BlackbirdModule());
+            case "specialised" -> builder.addModule(new ResponseSerializersModule());
+            default -> { }
+        }
+        mapper = builder.build();
+
+        AuthMetrics metrics = BenchmarkFixtures.metrics();
+        JwtService jwtService = BenchmarkFixtures.jwtService(metrics);
+        UserDetails userDetails = BenchmarkFixtures.userDetailsService(metrics).loadUserByUsername(BenchmarkFixtures.USERNAME);
+        authResponse = new AuthResponse(jwtService.generateAccessToken(userDetails),
+                jwtService.generateRefreshToken(userDetails));
+        userResponse = new UserResponse(42L, BenchmarkFixtures.USERNAME, "benchmark-admin@example.com",
+                Role.ADMIN, UserStatus.ACTIVE);
+        profile = new UserProfileResponse(BenchmarkFixtures.USERNAME, "benchmark-admin@example.com", "ADMIN", "ACTIVE");
+        problem = new ProblemDetails("https://authservice/errors/invalid-credentials", "Unauthorized", 401,
+                "Invalid username or password", "/api/v1/auth/login", Instant.now(), ErrorCode.INVALID_CREDENTIALS);
+
+        List<UserResponse> users = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            users.add(new UserResponse(id, "user" + id, "user" + id + "@example.com", Role.USER, UserStatus.ACTIVE));
+        }
+        page = new PageImpl<>(users, PageRequest.of(0, 20), 1_000_000);
+    }
+
+    private int write(Object value) {
+        out.reset();
+        mapper.writeValue(out, value);
+        return out.size();
+    }
+
+    @Benchmark
+    public int authResponse() {
+        return write(authResponse);
+    }
+
+    @Benchmark
+    public int userResponse() {
+        return write(userResponse);
+    }
+
+    @Benchmark
+    public int userProfileResponse() {
+        return write(profile);
+    }
+
+    @Benchmark
+    public int problemDetails() {
+        return write(problem);
+    }
+
+    /**
+     * A page of 20 users in the {@code via-dto} envelope, including the conversion from {@link Page}.
+     */
+    @Benchmark
+    public int page() {
+        return write(new PagedModel<>(page));
+    }
+
+    /**
+     * The previous envelope: every {@link PageImpl} property, written by the bean serializer.
+     */
+    @Benchmark
+    public int pageImplEnvelope() {
+        return write(page);
+    }
+}
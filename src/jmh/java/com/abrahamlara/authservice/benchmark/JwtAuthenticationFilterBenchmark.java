@@ -0,0 +1,65 @@
+package com.abrahamlara.authservice.benchmark;
+
+import com.abrahamlara.authservice.auth.config.jwt.JwtAuthenticationFilter;
+import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.service.UserDetailsServiceImpl;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full JWT filter pass for an authenticated request.
+ * <ul>
+ *   <li>{@code claims}: token with user id and version, authentication built from the claims</li>
+ *   <li>{@code lookup}: token without them, user loaded through {@link UserDetailsServiceImpl} over a stubbed repository</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"claims", "lookup"})
+    public String path;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setup() {
+        AuthMetrics metrics = BenchmarkFixtures.metrics();
+        JwtService jwtService = BenchmarkFixtures.jwtService(metrics);
+        UserDetailsServiceImpl service = BenchmarkFixtures.userDetailsService(metrics);
+        UserDetails authUser = service.loadUserByUsername(BenchmarkFixtures.USERNAME);
+
+        UserDetails tokenSubject = "claims".equals(path)
+                ? authUser
+                : new User(authUser.getUsername(), authUser.getPassword(), authUser.getAuthorities());
+
+        filter = new JwtAuthenticationFilter(jwtService, service, metrics, BenchmarkFixtures.tokenVersions());
+        request = new MockHttpServletRequest("GET", "/api/v1/users/profile");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateAccessToken(tokenSubject));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
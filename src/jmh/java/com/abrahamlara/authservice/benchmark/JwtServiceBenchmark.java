@@ -0,0 +1,65 @@
+package com.abrahamlara.authservice.benchmark;
+
+import com.abrahamlara.authservice.auth.config.jwt.JwtProperties;
+import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.config.jwt.TokenClaims;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification cost, as paid on every login/refresh and on every authenticated request,
+ * for each token format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"STANDARD", "COMPACT"})
+    public JwtProperties.TokenFormat format;
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        jwtService = BenchmarkFixtures.jwtService(BenchmarkFixtures.metrics(), format);
+        userDetails = new User(BenchmarkFixtures.USERNAME, "password", List.of(
+                new SimpleGrantedAuthority("ROLE_ADMIN"),
+                new SimpleGrantedAuthority("ADMIN_CREATE"),
+                new SimpleGrantedAuthority("ADMIN_READ"),
+                new SimpleGrantedAuthority("ADMIN_UPDATE"),
+                new SimpleGrantedAuthority("ADMIN_DELETE")));
+        accessToken = jwtService.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtService.parse(accessToken);
+    }
+
+    @Benchmark
+    public TokenClaims decode() {
+        return jwtService.decode(accessToken);
+    }
+}
@@ -0,0 +1,64 @@
+package com.abrahamlara.authservice.benchmark;
+
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import com.abrahamlara.authservice.audit.service.AuditService;
+import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.service.AuthServiceImpl;
+import com.abrahamlara.authservice.auth.service.UserDetailsServiceImpl;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes per millisecond through {@link AuthServiceImpl#refreshToken}, audit hand-off excluded.
+ * <ul>
+ *   <li>{@code claims}: refresh token with user id and version, user resolved from the version registry
+ *   and the response cache</li>
+ *   <li>{@code lookup}: token without them, user loaded through {@link UserDetailsServiceImpl} over a stubbed repository</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshTokenBenchmark {
+
+    @Param({"claims", "lookup"})
+    public String path;
+
+    private AuthServiceImpl authService;
+    private String refreshToken;
+
+    @Setup
+    public void setup() {
+        AuthMetrics metrics = BenchmarkFixtures.metrics();
+        JwtService jwtService = BenchmarkFixtures.jwtService(metrics);
+        UserDetailsServiceImpl userDetailsService = BenchmarkFixtures.userDetailsService(metrics);
+        UserDetails authUser = userDetailsService.loadUserByUsername(BenchmarkFixtures.USERNAME);
+
+        UserDetails tokenSubject = "claims".equals(path)
+                ? authUser
+                : new User(authUser.getUsername(), authUser.getPassword(), authUser.getAuthorities());
+
+        authService = new AuthServiceImpl(null, jwtService, userDetailsService, metrics, null, new AuditService() {
+            @Override
+            public void record(AuditEventType type, String subject, String detail) {
+            }
+
+            @Override
+            public void recordAfterCommit(AuditEventType type, String subject, String detail) {
+            }
+        }, BenchmarkFixtures.tokenVersions(), BenchmarkFixtures.userResponseCache());
+        refreshToken = jwtService.generateRefreshToken(tokenSubject);
+    }
+
+    @Benchmark
+    public Object refresh() {
+        return authService.refreshToken(refreshToken);
+    }
+}
@@ -0,0 +1,46 @@
+package com.abrahamlara.authservice.benchmark;
+
+import com.abrahamlara.authservice.auth.service.UserDetailsServiceImpl;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.mapper.UserMapper;
+import com.abrahamlara.authservice.user.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request object mapping: entity to UserDetails (authority mapping) and entity to API response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private UserDetailsServiceImpl userDetailsService;
+    private UserMapper userMapper;
+    private User user;
+
+    @Setup
+    public void setup() {
+        userDetailsService = BenchmarkFixtures.userDetailsService(BenchmarkFixtures.metrics());
+        userMapper = new UserMapper();
+        user = BenchmarkFixtures.user();
+    }
+
+    /**
+     * Dominated by mapAuthorities: one SimpleGrantedAuthority per role/permission and a HashSet.
+     */
+    @Benchmark
+    public UserDetails mapAuthorities() {
+        return userDetailsService.loadUserByUsername(BenchmarkFixtures.USERNAME);
+    }
+
+    @Benchmark
+    public UserResponse toResponse() {
+        return userMapper.toResponse(user);
+    }
+}
@@ -0,0 +1,187 @@
+package com.abrahamlara.authservice.loadtest;
+
+import com.abrahamlara.authservice.auth.config.lookup.KnownIdentifiers;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the full application against a containerised Postgres seeded with
+ * {@code loadtest.users} accounts (1M by default), driven through real HTTP.
+ * <p>
+ * Scenarios: login storm, authenticated profile reads, admin search and refresh-token bursts.
+ * Throughput, latency percentiles and database statement counts are written to {@code loadtest.report}.
+ * Statements are counted by Postgres ({@code pg_stat_statements}), so JdbcTemplate batches, the lockout flush
+ * and other work outside Hibernate are included.
+ */
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 1_000_000);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 64);
+    private static final int BCRYPT_STRENGTH = Integer.getInteger("loadtest.bcrypt-strength", 10);
+    private static final String PASSWORD = "load-test-password";
+    private static final Pattern TOKEN = Pattern.compile("\"(accessToken|refreshToken)\"\\s*:\\s*\"([^\"]+)\"");
+
+    // Every statement this database executed, except the probe itself
+    private static final String EXECUTED_STATEMENTS_SQL = """
+            SELECT coalesce(sum(calls), 0) FROM pg_stat_statements
+            WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+              AND query NOT LIKE '%pg_stat_statements%'
+            """;
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine")
+            .withCommand("postgres", "-c", "max_connections=300", "-c", "shared_buffers=256MB",
+                    "-c", "shared_preload_libraries=pg_stat_statements", "-c", "pg_stat_statements.track_utility=off");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("DB_URL", postgres::getJdbcUrl);
+        registry.add("DB_USERNAME", postgres::getUsername);
+        registry.add("DB_PASSWORD", postgres::getPassword);
+        registry.add("ADMIN_PASSWORD", () -> "admin");
+        registry.add("CLIENT_ORIGIN", () -> "http://localhost");
+        registry.add("PASSWORD_STRENGTH", () -> BCRYPT_STRENGTH);
+        registry.add("security.jwt.secret", () -> Base64.getEncoder().encodeToString("load-test-secret-load-test-secret-0123".getBytes()));
+        // All load comes from one client IP, so the login throttle would only measure rejections
+        registry.add("security.login-throttle.enabled", () -> false);
+        registry.add("server.tomcat.threads.max", () -> CONCURRENCY * 2);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KnownIdentifiers knownIdentifiers;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+        // One bcrypt hash shared by every account keeps seeding fast while logins still pay full BCrypt cost.
+        String hash = new BCryptPasswordEncoder(BCRYPT_STRENGTH).encode(PASSWORD);
+        jdbcTemplate.update("""
+                INSERT INTO users (username, email, password, role, status, created_at, updated_at, version)
+                SELECT 'user' || g, 'user' || g || '@load.test', ?,
+                       CASE WHEN g % 1000 = 0 THEN 'ADMIN' ELSE 'USER' END,
+                       'ACTIVE', now(), now(), 0
+                FROM generate_series(1, ?) AS g
+                """, hash, USERS);
+        jdbcTemplate.execute("ANALYZE users");
+        // Rows inserted with plain JDBC fire no USER_CHANGED event, so the known identifier filter is reloaded
+        knownIdentifiers.rebuild();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        ScenarioRunner runner = new ScenarioRunner(client, CONCURRENCY, this::executedStatements);
+        List<ScenarioResult> results = new ArrayList<>();
+
+        // Login storm: random accounts across the whole table, full BCrypt verification each time
+        results.add(runner.run("login-storm", REQUESTS / 10, i -> loginRequest(randomUser())));
+
+        List<String[]> sessions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sessions.add(login(randomUser()));
+        }
+        String[] admin = login("user1000");
+
+        results.add(runner.run("profile-reads", REQUESTS, i -> get("/api/v1/users/profile", sessions.get(i % sessions.size())[0])));
+
+        results.add(runner.run("admin-search", REQUESTS / 4, i ->
+                get("/api/v1/users/search?search=user" + ThreadLocalRandom.current().nextInt(1, 10_000) + "&page=0&size=20", admin[0])));
+
+        results.add(runner.run("refresh-burst", REQUESTS / 2, i -> {
+            String[] session = sessions.get(i % sessions.size());
+            return HttpRequest.newBuilder(uri("/api/v1/auth/refresh-token"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + session[0])
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"refreshToken\":\"" + session[1] + "\"}"))
+                    .build();
+        }));
+
+        LoadReport report = new LoadReport(System.getProperty("loadtest.build", "local"), Instant.now(), USERS, BCRYPT_STRENGTH, results);
+        File output = new File(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        JsonMapper.builder().findAndAddModules().build().writerWithDefaultPrettyPrinter().writeValue(output, report);
+
+        results.forEach(r -> assertThat(r.errors()).as("errors in %s", r.name()).isZero());
+    }
+
+    private String randomUser() {
+        return "user" + ThreadLocalRandom.current().nextInt(1, USERS + 1);
+    }
+
+    private long executedStatements() {
+        return jdbcTemplate.queryForObject(EXECUTED_STATEMENTS_SQL, Long.class);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpRequest get(String path, String accessToken) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest loginRequest(String username) {
+        return HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    /**
+     * @return access token and refresh token
+     */
+    private String[] login(String username) throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        String[] tokens = new String[2];
+        Matcher matcher = TOKEN.matcher(response.body());
+        while (matcher.find()) {
+            tokens["accessToken".equals(matcher.group(1)) ? 0 : 1] = matcher.group(2);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,15 @@
+package com.abrahamlara.authservice.loadtest;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Machine-readable load test report, compared across builds before rollout.
+ */
+public record LoadReport(
+        String build,
+        Instant startedAt,
+        int seededUsers,
+        int bcryptStrength,
+        List<ScenarioResult> scenarios
+) { }
@@ -0,0 +1,22 @@
+package com.abrahamlara.authservice.loadtest;
+
+/**
+ * Measured outcome of a single load scenario, as written to the JSON report.
+ *
+ * @param dbStatements statements Postgres executed while the scenario ran, from Hibernate, JdbcTemplate or any
+ *                     other connection of the application
+ */
+public record ScenarioResult(
+        String name,
+        int requests,
+        int errors,
+        int concurrency,
+        long durationMs,
+        double throughputPerSecond,
+        double p50Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        long dbStatements,
+        double dbStatementsPerRequest
+) { }
@@ -0,0 +1,84 @@
+package com.abrahamlara.authservice.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Drives a fixed number of HTTP requests with a fixed number of concurrent workers
+ * and records per-request latency into a pre-sized array.
+ */
+class ScenarioRunner {
+
+    private final HttpClient client;
+    private final int concurrency;
+    private final LongSupplier dbStatementCounter;
+
+    ScenarioRunner(HttpClient client, int concurrency, LongSupplier dbStatementCounter) {
+        this.client = client;
+        this.concurrency = concurrency;
+        this.dbStatementCounter = dbStatementCounter;
+    }
+
+    ScenarioResult run(String name, int requests, IntFunction<HttpRequest> requestFactory) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long statementsBefore = dbStatementCounter.getAsLong();
+        long start = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    HttpRequest request = requestFactory.apply(i);
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - t0;
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+
+        long elapsed = System.nanoTime() - start;
+        long statements = dbStatementCounter.getAsLong() - statementsBefore;
+
+        Arrays.sort(latencies);
+        return new ScenarioResult(
+                name,
+                requests,
+                errors.get(),
+                concurrency,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                requests / (elapsed / 1_000_000_000.0),
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1_000_000.0,
+                statements,
+                (double) statements / requests
+        );
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.abrahamlara.authservice.audit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Security audit log pipeline: in-memory buffer, background writer and sink.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    public enum Sink {
+        JDBC,
+        FILE
+    }
+
+    public enum OverflowPolicy {
+        // Discard the new event when the buffer is full
+        DROP,
+        // Wait up to blockTimeout for free space, then discard
+        BLOCK
+    }
+
+    private boolean enabled = true;
+    private Sink sink = Sink.JDBC;
+    // Buffered events; rounded up to a power of two
+    private int bufferSize = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private Duration blockTimeout = Duration.ofMillis(20);
+    // Largest batch handed to the sink at once
+    private int batchSize = 256;
+    // Longest time an event waits in the buffer when traffic is low
+    private Duration flushInterval = Duration.ofMillis(500);
+    private Jdbc jdbc = new Jdbc();
+    private File file = new File();
+
+    @Getter
+    @Setter
+    public static class Jdbc {
+        // Monthly partitions of audit_events created ahead of the current month
+        private int partitionsAhead = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class File {
+        private String path = "logs/audit.log";
+    }
+}
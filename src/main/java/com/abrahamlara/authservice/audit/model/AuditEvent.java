@@ -0,0 +1,23 @@
+package com.abrahamlara.authservice.audit.model;
+
+import java.time.Instant;
+
+/**
+ * Immutable audit log entry.
+ *
+ * @param occurredAt when the action happened
+ * @param type       what happened
+ * @param actor      authenticated user performing the action, {@code null} for anonymous requests
+ * @param subject    user or identifier the action applies to
+ * @param clientIp   remote address of the request, if there was one
+ * @param detail     short free-form context
+ */
+public record AuditEvent(
+        Instant occurredAt,
+        AuditEventType type,
+        String actor,
+        String subject,
+        String clientIp,
+        String detail
+) {
+}
@@ -0,0 +1,16 @@
+package com.abrahamlara.authservice.audit.model;
+
+/**
+ * Security relevant actions recorded in the audit log.
+ */
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    LOGIN_LOCKED,
+    TOKEN_REFRESH,
+    TOKEN_REFRESH_FAILURE,
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED,
+    ACCESS_DENIED
+}
@@ -0,0 +1,20 @@
+package com.abrahamlara.authservice.audit.service;
+
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+
+/**
+ * Records security audit events without blocking the calling request on I/O.
+ * The actor and client address are taken from the current security context and request.
+ */
+public interface AuditService {
+
+    /**
+     * Records the event immediately, whatever the outcome of a surrounding transaction.
+     */
+    void record(AuditEventType type, String subject, String detail);
+
+    /**
+     * Records the event only once the surrounding transaction commits; without one it behaves like {@link #record}.
+     */
+    void recordAfterCommit(AuditEventType type, String subject, String detail);
+}
@@ -0,0 +1,235 @@
+package com.abrahamlara.authservice.audit.service;
+
+import com.abrahamlara.authservice.audit.config.AuditProperties;
+import com.abrahamlara.authservice.audit.model.AuditEvent;
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit pipeline: request threads enqueue into a lock-free {@link AuditRingBuffer}, and a single
+ * background writer drains it in batches into the configured {@link AuditSink}.
+ * <p>
+ * Memory is bounded by {@code audit.buffer-size}. When the buffer is full the event is dropped, or with
+ * {@code overflow-policy=BLOCK} the caller waits up to {@code block-timeout} for space first.
+ * The writer wakes up when a batch is ready or after {@code flush-interval}, whichever comes first,
+ * and drains what is left on shutdown.
+ */
+@Service
+public class AuditServiceImpl implements AuditService, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditServiceImpl.class);
+
+    private static final int MAX_SUBJECT_LENGTH = 255;
+    private static final int MAX_DETAIL_LENGTH = 1000;
+
+    private final AuditProperties properties;
+    private final AuditSink sink;
+    private final AuditRingBuffer<AuditEvent> buffer;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Timer writeTimer;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+    private boolean sinkOpen;
+
+    public AuditServiceImpl(AuditProperties properties, AuditSink sink, MeterRegistry registry) {
+        this.properties = properties;
+        this.sink = sink;
+        this.buffer = new AuditRingBuffer<>(properties.getBufferSize());
+
+        this.written = eventCounter(registry, "written");
+        this.dropped = eventCounter(registry, "dropped");
+        this.failed = eventCounter(registry, "failed");
+        this.writeTimer = Timer.builder("audit.write")
+                .description("Time spent writing one batch of audit events to the sink")
+                .register(registry);
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(registry);
+    }
+
+    @Override
+    public void record(AuditEventType type, String subject, String detail) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        enqueue(new AuditEvent(Instant.now(), type, currentActor(),
+                truncate(subject, MAX_SUBJECT_LENGTH), currentClientIp(), truncate(detail, MAX_DETAIL_LENGTH)));
+    }
+
+    @Override
+    public void recordAfterCommit(AuditEventType type, String subject, String detail) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(type, subject, detail);
+            return;
+        }
+        // Timestamp, actor and client address are those of the call, not of the commit
+        AuditEvent event = new AuditEvent(Instant.now(), type, currentActor(),
+                truncate(subject, MAX_SUBJECT_LENGTH), currentClientIp(), truncate(detail, MAX_DETAIL_LENGTH));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            if (buffer.size() >= properties.getBatchSize()) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        if (properties.getOverflowPolicy() == AuditProperties.OverflowPolicy.BLOCK) {
+            LockSupport.unpark(writer);
+            long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        long idleNanos = properties.getFlushInterval().toNanos();
+        while (true) {
+            boolean stopping = !running;
+            buffer.drain(batch, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, idleNanos);
+                continue;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            if (!sinkOpen) {
+                sink.open();
+                sinkOpen = true;
+            }
+            long start = System.nanoTime();
+            sink.write(batch);
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            written.increment(batch.size());
+        } catch (Exception ex) {
+            failed.increment(batch.size());
+            log.warn("Failed to write {} audit events: {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    // =====================================================================
+    // Lifecycle: stops after the web server so in-flight requests are still audited
+    // =====================================================================
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        try {
+            sink.close();
+        } catch (Exception ex) {
+            log.warn("Failed to close audit sink: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    int pendingEvents() {
+        return buffer.size();
+    }
+
+    private static String currentActor() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+
+    private static String currentClientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return servlet.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("audit.events")
+                .description("Audit events by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.abrahamlara.authservice.audit.service;
+
+import com.abrahamlara.authservice.audit.model.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Destination of audit events. Called only from the audit writer thread.
+ */
+public interface AuditSink {
+
+    /**
+     * Prepares the destination (schema, files). Called once before the first write.
+     */
+    default void open() throws Exception {
+    }
+
+    /**
+     * Persists a batch of events in order.
+     */
+    void write(List<AuditEvent> batch) throws Exception;
+
+    /**
+     * Releases resources after the final write.
+     */
+    default void close() throws Exception {
+    }
+}
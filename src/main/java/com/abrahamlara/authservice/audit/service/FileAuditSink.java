@@ -0,0 +1,61 @@
+package com.abrahamlara.authservice.audit.service;
+
+import com.abrahamlara.authservice.audit.config.AuditProperties;
+import com.abrahamlara.authservice.audit.model.AuditEvent;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends audit events as JSON lines to a local file, for running without a database audit table.
+ * The file is only ever appended to; every batch is flushed before the next one is taken.
+ */
+@Component
+@ConditionalOnProperty(prefix = "audit", name = "sink", havingValue = "file")
+@RegisterReflectionForBinding(AuditEvent.class)
+public class FileAuditSink implements AuditSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private BufferedWriter writer;
+
+    public FileAuditSink(ObjectMapper objectMapper, AuditProperties properties) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(properties.getFile().getPath());
+    }
+
+    @Override
+    public void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws IOException {
+        for (AuditEvent event : batch) {
+            writer.write(objectMapper.writeValueAsString(event));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.abrahamlara.authservice.audit.service;
+
+import com.abrahamlara.authservice.audit.config.AuditProperties;
+import com.abrahamlara.authservice.audit.model.AuditEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes audit events to the {@code audit_events} table, range-partitioned by month on {@code occurred_at}.
+ * <p>
+ * The table, a default partition and the partitions for the coming months are created on startup
+ * and re-checked every few hours, so old months can be detached or dropped cheaply.
+ * Each batch is a single JDBC batch insert in its own transaction; statements always run in an explicit
+ * transaction because the prod pool has auto-commit disabled.
+ */
+@Component
+@ConditionalOnProperty(prefix = "audit", name = "sink", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcAuditSink implements AuditSink {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcAuditSink.class);
+
+    private static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS audit_events (
+                id          bigserial,
+                occurred_at timestamptz  NOT NULL,
+                event_type  varchar(40)  NOT NULL,
+                actor       varchar(255),
+                subject     varchar(255),
+                client_ip   varchar(45),
+                detail      varchar(1000),
+                PRIMARY KEY (id, occurred_at)
+            ) PARTITION BY RANGE (occurred_at)""";
+
+    private static final String CREATE_DEFAULT_PARTITION_SQL =
+            "CREATE TABLE IF NOT EXISTS audit_events_default PARTITION OF audit_events DEFAULT";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_events (occurred_at, event_type, actor, subject, client_ip, detail) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final AuditProperties properties;
+    private volatile boolean opened;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations, AuditProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+    }
+
+    @Override
+    public void open() {
+        transactionOperations.executeWithoutResult(status -> {
+            jdbcTemplate.execute(CREATE_TABLE_SQL);
+            jdbcTemplate.execute(CREATE_DEFAULT_PARTITION_SQL);
+        });
+        opened = true;
+        ensurePartitions();
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            rows.add(new Object[]{
+                    Timestamp.from(event.occurredAt()),
+                    event.type().name(),
+                    event.actor(),
+                    event.subject(),
+                    event.clientIp(),
+                    event.detail()
+            });
+        }
+        transactionOperations.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+    }
+
+    /**
+     * Creates the partitions for the current month and the next {@code audit.jdbc.partitions-ahead} months.
+     */
+    @Scheduled(fixedDelay = 6 * 60 * 60 * 1000, initialDelay = 6 * 60 * 60 * 1000)
+    public void ensurePartitions() {
+        if (!opened) {
+            return;
+        }
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= properties.getJdbc().getPartitionsAhead(); i++, month = month.plusMonths(1)) {
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+            String sql = "CREATE TABLE IF NOT EXISTS audit_events_%d_%02d PARTITION OF audit_events FOR VALUES FROM ('%s 00:00+00') TO ('%s 00:00+00')"
+                    .formatted(month.getYear(), month.getMonthValue(), from, to);
+            try {
+                transactionOperations.executeWithoutResult(status -> jdbcTemplate.execute(sql));
+            } catch (RuntimeException ex) {
+                // Fails if the default partition already holds rows of that month; they stay queryable there
+                log.warn("Could not create audit partition for {}: {}", month, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import com.abrahamlara.authservice.user.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Encodes a set of role and permission authorities as one number for compact tokens.
+ * <p>
+ * The bit of each authority is its position in the table below, which is part of the token format:
+ * entries may only be appended. Decoded authority lists are shared (for a role's exact set, the role's own
+ * precomputed list), so reconstructing them costs one array read.
+ */
+final class AuthorityBitmask {
+
+    private static final List<String> AUTHORITIES = List.of(
+            "ROLE_ADMIN",
+            "ROLE_USER",
+            "ADMIN_CREATE",
+            "ADMIN_READ",
+            "ADMIN_UPDATE",
+            "ADMIN_DELETE",
+            "USER_CREATE",
+            "USER_READ",
+            "USER_UPDATE",
+            "USER_DELETE"
+    );
+
+    private static final AtomicReferenceArray<List<GrantedAuthority>> DECODED =
+            new AtomicReferenceArray<>(1 << AUTHORITIES.size());
+
+    static {
+        // Tokens of a role decode to the same list instance as the role itself
+        for (Role role : Role.values()) {
+            long mask = encode(role.getAuthorities());
+            if (mask >= 0) {
+                DECODED.set((int) mask, role.getAuthorities());
+            }
+        }
+    }
+
+    private AuthorityBitmask() {}
+
+    /**
+     * @return the mask, or -1 if an authority is not in the table and cannot be encoded
+     */
+    static long encode(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            int bit = AUTHORITIES.indexOf(authority.getAuthority());
+            if (bit < 0) {
+                return -1;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * @return the mask, or -1 if an authority is not in the table and cannot be encoded
+     */
+    static long encodeNames(Collection<String> authorities) {
+        long mask = 0;
+        for (String authority : authorities) {
+            int bit = AUTHORITIES.indexOf(authority);
+            if (bit < 0) {
+                return -1;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * @return number of distinct masks, each in {@code [0, size())}
+     */
+    static int size() {
+        return DECODED.length();
+    }
+
+    static List<GrantedAuthority> decode(long mask) {
+        if (mask < 0 || mask >= DECODED.length()) {
+            throw new IllegalArgumentException("Unknown authorities in token: " + mask);
+        }
+        List<GrantedAuthority> authorities = DECODED.get((int) mask);
+        if (authorities == null) {
+            List<GrantedAuthority> decoded = new ArrayList<>(Long.bitCount(mask));
+            for (int bit = 0; bit < AUTHORITIES.size(); bit++) {
+                if ((mask & (1L << bit)) != 0) {
+                    decoded.add(new SimpleGrantedAuthority(AUTHORITIES.get(bit)));
+                }
+            }
+            authorities = List.copyOf(decoded);
+            DECODED.lazySet((int) mask, authorities);
+        }
+        return authorities;
+    }
+}
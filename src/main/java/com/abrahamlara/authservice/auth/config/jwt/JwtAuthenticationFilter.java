@@ -1,5 +1,14 @@
 package com.abrahamlara.authservice.auth.config.jwt;
 
+import com.abrahamlara.authservice.auth.config.revocation.TokenVersionRegistry;
+import com.abrahamlara.authservice.auth.model.TokenAuthentication;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics.TokenOutcome;
+import com.abrahamlara.authservice.config.properties.SecurityEndpoints;
+import com.abrahamlara.authservice.config.security.PathLookup;
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import com.abrahamlara.authservice.shared.exceptions.ProblemTemplate;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -7,6 +16,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,17 +29,31 @@ import java.io.IOException;
 /**
  * JWT authentication filter that processes each request once.
  * Responsible for:
+ * - Skipping public, monitoring and documentation paths, which never need an Authentication
  * - Extracting bearer token from Authorization header
  * - Validating token signature and expiration
- * - Loading UserDetails and setting Authentication on SecurityContext
+ * - Rejecting tokens revoked by a token version bump (in-memory check, see TokenVersionRegistry)
+ * - Answering rejected tokens with a 401 problem body
+ * - Building the Authentication from the token claims and setting it on SecurityContext
  * <p>
  * This enables authenticated endpoints to rely on Spring Security context.
  */
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Paths permitted to everyone; a token there would only cost a signature check
+    private static final PathLookup SKIPPED_PATHS = PathLookup.of(
+            SecurityEndpoints.PUBLIC, SecurityEndpoints.MONITORING, SecurityEndpoints.SWAGGER);
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AuthMetrics metrics;
+    private final TokenVersionRegistry tokenVersions;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return SKIPPED_PATHS.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -40,6 +64,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            metrics.recordFilterOutcome(TokenOutcome.MISSING);
             filterChain.doFilter(request, response);
             return;
         }
@@ -47,33 +72,67 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String token = authHeader.substring(7);
 
         try {
-            var claims = jwtService.parse(token);
+            TokenClaims claims = jwtService.decode(token);
 
             // Prevent refresh token from being used as access token
-            if (!"access".equals(claims.get("type", String.class))) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            if (!claims.isAccess()) {
+                metrics.recordFilterOutcome(TokenOutcome.WRONG_TYPE);
+                reject(request, response);
                 return;
             }
 
-            String username = claims.getSubject();
+            // Password, role or status changed since the token was issued
+            if (claims.userId() != null && claims.tokenVersion() != null
+                    && !tokenVersions.isCurrent(claims.userId(), claims.tokenVersion())) {
+                metrics.recordFilterOutcome(TokenOutcome.REVOKED);
+                reject(request, response);
+                return;
+            }
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            String username = claims.subject();
 
-                if (jwtService.isTokenValid(token, userDetails)) {
-                    var authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                AbstractAuthenticationToken authToken = claims.userId() != null && claims.tokenVersion() != null
+                        ? new TokenAuthentication(claims.userId(), username, claims.authorities())
+                        : loadUser(token, username);
 
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
+            metrics.recordFilterOutcome(TokenOutcome.ACCEPTED);
 
+        } catch (ExpiredJwtException ex) {
+            metrics.recordFilterOutcome(TokenOutcome.EXPIRED);
+            reject(request, response);
+            return;
         } catch (JwtException | IllegalArgumentException ex) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            metrics.recordFilterOutcome(TokenOutcome.INVALID);
+            reject(request, response);
             return;
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Answers with the same 401 problem body {@code GlobalExceptionHandler} gives an invalid token, written from the
+     * pre-encoded template instead of raising an exception.
+     */
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        metrics.recordError(ErrorCode.UNAUTHORIZED);
+        ProblemTemplate.of(ErrorCode.UNAUTHORIZED).write(response, null, request.getRequestURI());
+    }
+
+    /**
+     * Tokens without a user id and version predate revocation, so the user is loaded to validate them.
+     */
+    private AbstractAuthenticationToken loadUser(String token, String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (!jwtService.isTokenValid(token, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
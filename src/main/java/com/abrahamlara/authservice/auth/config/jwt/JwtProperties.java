@@ -13,6 +13,14 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @ConfigurationProperties(prefix = "security.jwt")
 public class JwtProperties {
+
+    public enum TokenFormat {
+        // Descriptive claim names and the full list of authorities
+        STANDARD,
+        // Short claim names and authorities as a bitmask, see TokenClaims
+        COMPACT
+    }
+
     @NotBlank
     @Size(min = 32, message = "JWT secret must be at least 32 characters")
     private String secret;
@@ -20,4 +28,6 @@ public class JwtProperties {
     private long accessTokenExpiration;
     @Positive
     private long refreshTokenExpiration;
+    // Format of newly issued tokens; both formats are always accepted
+    private TokenFormat format = TokenFormat.STANDARD;
 }
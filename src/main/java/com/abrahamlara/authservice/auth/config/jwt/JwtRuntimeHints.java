@@ -0,0 +1,48 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Native image metadata for jjwt. Its API jar finds the implementation (builders, parsers, algorithm registries
+ * and key utilities) by class name and creates it reflectively, which the native image cannot see on its own.
+ */
+final class JwtRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Every class io.jsonwebtoken.lang.Classes loads by name from jjwt-api
+    static final List<String> IMPLEMENTATION_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder$Supplier",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder$Supplier",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder$Supplier",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder$Supplier",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder$Supplier",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder$Supplier",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder$Supplier",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder$Supplier",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder$Supplier",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder$Supplier",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : IMPLEMENTATION_CLASSES) {
+            // Bridges are called through static methods, the rest through their no-arg constructor
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        // JSON (de)serializer and compression codecs are found through ServiceLoader
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+}
@@ -1,11 +1,15 @@
 package com.abrahamlara.authservice.auth.config.jwt;
 
+import com.abrahamlara.authservice.auth.model.AuthUser;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -16,56 +20,76 @@ import java.util.Date;
 /**
  * Service responsible for generating, validating and extracting information from JWT tokens.
  * Supports both access and refresh tokens with configurable expiration times.
+ * New tokens use the format set by {@code security.jwt.format}; tokens of either format are accepted.
  */
 @Service
 @RequiredArgsConstructor
+@ImportRuntimeHints(JwtRuntimeHints.class)
 public class JwtService {
 
     private final JwtProperties jwtProperties;
-//    private final SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+    private final AuthMetrics metrics;
+    private volatile Signing signing;
 
     /**
      * Generates a signed JWT access token.
      * Includes roles for authorization decisions.
      */
     public String generateAccessToken(UserDetails userDetails) {
-        return buildToken(userDetails, jwtProperties.getAccessTokenExpiration(), "access", true);
+        return buildToken(userDetails, jwtProperties.getAccessTokenExpiration(), TokenClaims.ACCESS, true);
     }
 
     /**
      * Generates a refresh token (no roles) used only to renew session.
      */
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(userDetails, jwtProperties.getRefreshTokenExpiration(), "refresh", false);
+        return buildToken(userDetails, jwtProperties.getRefreshTokenExpiration(), TokenClaims.REFRESH, false);
     }
 
     private String buildToken(UserDetails userDetails, long expiration, String type, boolean includeRoles) {
-        Date now = new Date();
-        Date expiry = new Date(now.getTime() + expiration);
+        return metrics.tokenSign().record(() -> signToken(userDetails, expiration, type, includeRoles));
+    }
+
+    private String signToken(UserDetails userDetails, long expiration, String type, boolean includeRoles) {
+        AuthUser authUser = userDetails instanceof AuthUser user ? user : null;
+        Long userId = authUser != null ? authUser.getUserId() : null;
+        Long tokenVersion = authUser != null ? authUser.getTokenVersion() : null;
+
+        long authorities = includeRoles ? AuthorityBitmask.encode(userDetails.getAuthorities()) : TokenIssuer.NO_AUTHORITIES;
+        if (!includeRoles || authorities >= 0) {
+            long now = System.currentTimeMillis();
+            return signing().issuer().issue(jwtProperties.getFormat() == JwtProperties.TokenFormat.COMPACT, type,
+                    userDetails.getUsername(), now, now + expiration, userId, tokenVersion, authorities);
+        }
 
+        // Authorities outside the bitmask table: standard format through the jjwt builder
+        Date now = new Date();
         var builder = Jwts.builder()
                 .subject(userDetails.getUsername())
                 .issuedAt(now)
-                .expiration(expiry)
+                .expiration(new Date(now.getTime() + expiration))
                 .header().add("typ", "JWT").and()
-                .claim("type", type);
+                .claim(TokenClaims.TYPE, type);
 
-        if (includeRoles) {
-            builder.claim("roles", userDetails.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .toList());
+        if (authUser != null) {
+            builder.claim(TokenClaims.USER_ID, userId)
+                    .claim(TokenClaims.TOKEN_VERSION, tokenVersion);
         }
 
-        return builder.signWith(getSignInKey()).compact();
+        builder.claim(TokenClaims.ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+
+        return builder.signWith(signing().key()).compact();
     }
 
     /**
-     * Validates token signature, expiration and subject.
+     * Validates token signature, expiration and subject, and that it was issued for the user's current token version.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            Claims claims = parse(token);
-            return claims.getSubject().equals(userDetails.getUsername());
+            TokenClaims claims = decode(token);
+            return claims.subject().equals(userDetails.getUsername()) && isCurrentVersion(claims, userDetails);
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -76,8 +100,7 @@ public class JwtService {
      */
     public boolean isRefreshTokenValid(String token) {
         try {
-            Claims claims = parse(token);
-            return "refresh".equals(claims.get("type", String.class));
+            return decode(token).isRefresh();
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -87,18 +110,44 @@ public class JwtService {
      * Parses and validates a signed JWT. Throws if invalid or expired.
      */
     public Claims parse(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return metrics.tokenVerify().record(() -> signing().parser()
                 .parseSignedClaims(token)
-                .getPayload();
+                .getPayload());
+    }
+
+    /**
+     * Parses and validates a signed JWT in either token format. Throws if invalid or expired.
+     */
+    public TokenClaims decode(String token) {
+        return TokenClaims.from(parse(token));
+    }
+
+    /**
+     * Tokens issued before versions were embedded carry no version and stay valid until they expire.
+     */
+    private static boolean isCurrentVersion(TokenClaims claims, UserDetails userDetails) {
+        Long version = claims.tokenVersion();
+        return version == null
+                || !(userDetails instanceof AuthUser authUser)
+                || version >= authUser.getTokenVersion();
     }
 
     public String extractUsername(String token) {
         return parse(token).getSubject();
     }
 
-    private SecretKey getSignInKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+    /**
+     * Key, parser and issuer are derived from the secret on first use and reused: all three are thread-safe.
+     */
+    private Signing signing() {
+        Signing current = signing;
+        if (current == null) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+            current = new Signing(key, Jwts.parser().verifyWith(key).build(), new TokenIssuer(key));
+            signing = current;
+        }
+        return current;
     }
+
+    private record Signing(SecretKey key, JwtParser parser, TokenIssuer issuer) {}
 }
@@ -0,0 +1,94 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Claims of a verified token, independent of the format it was issued in.
+ * <p>
+ * Standard tokens have no format version claim. Compact tokens carry {@code v} and use short claim names,
+ * with the authorities as an {@link AuthorityBitmask}. Any other format version is rejected, so the compact
+ * layout can change later without old and new tokens being confused.
+ *
+ * @param type         "access" or "refresh"
+ * @param userId       id of the user, absent in tokens issued before it was embedded
+ * @param tokenVersion token version of the user at issue time, absent like userId
+ * @param authorities  roles and permissions, empty for refresh tokens
+ */
+public record TokenClaims(
+        String type,
+        String subject,
+        Long userId,
+        Long tokenVersion,
+        List<GrantedAuthority> authorities
+) {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    // Standard format
+    static final String TYPE = "type";
+    static final String ROLES = "roles";
+    static final String USER_ID = "uid";
+    static final String TOKEN_VERSION = "ver";
+
+    // Compact format
+    static final String FORMAT_VERSION = "v";
+    static final int COMPACT_V1 = 1;
+    static final String COMPACT_TYPE = "t";
+    static final String COMPACT_ACCESS = "a";
+    static final String COMPACT_REFRESH = "r";
+    static final String COMPACT_USER_ID = "u";
+    static final String COMPACT_TOKEN_VERSION = "tv";
+    static final String COMPACT_AUTHORITIES = "p";
+
+    public static TokenClaims from(Claims claims) {
+        Integer format = claims.get(FORMAT_VERSION, Integer.class);
+        if (format == null) {
+            return fromStandard(claims);
+        }
+        if (format == COMPACT_V1) {
+            return fromCompactV1(claims);
+        }
+        throw new MalformedJwtException("Unsupported token format version: " + format);
+    }
+
+    public boolean isAccess() {
+        return ACCESS.equals(type);
+    }
+
+    public boolean isRefresh() {
+        return REFRESH.equals(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TokenClaims fromStandard(Claims claims) {
+        List<String> roles = claims.get(ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : toAuthorities(roles);
+        return new TokenClaims(claims.get(TYPE, String.class), claims.getSubject(),
+                claims.get(USER_ID, Long.class), claims.get(TOKEN_VERSION, Long.class), authorities);
+    }
+
+    private static TokenClaims fromCompactV1(Claims claims) {
+        String type = switch (String.valueOf(claims.get(COMPACT_TYPE, String.class))) {
+            case COMPACT_ACCESS -> ACCESS;
+            case COMPACT_REFRESH -> REFRESH;
+            default -> null;
+        };
+        Long mask = claims.get(COMPACT_AUTHORITIES, Long.class);
+        return new TokenClaims(type, claims.getSubject(),
+                claims.get(COMPACT_USER_ID, Long.class), claims.get(COMPACT_TOKEN_VERSION, Long.class),
+                mask == null ? List.of() : AuthorityBitmask.decode(mask));
+    }
+
+    private static List<GrantedAuthority> toAuthorities(List<String> names) {
+        long mask = AuthorityBitmask.encodeNames(names);
+        return mask >= 0
+                ? AuthorityBitmask.decode(mask)
+                : names.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    }
+}
@@ -0,0 +1,295 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Writes and signs tokens of the fixed layouts issued by {@link JwtService}, without going through the jjwt builder.
+ * <p>
+ * The header segments are encoded once, the {@code roles} claim of every authority set is a precomputed
+ * fragment, the payload is written straight into a per-thread buffer and signed with a per-thread {@link Mac}.
+ * The output is an ordinary JWS: the algorithm is the one jjwt picks for the key, so jjwt verifies it as usual.
+ */
+final class TokenIssuer {
+
+    static final long NO_AUTHORITIES = -1;
+
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] SUBJECT = ascii("{\"sub\":\"");
+    private static final byte[] ISSUED_AT = ascii("\",\"iat\":");
+    private static final byte[] EXPIRATION = ascii(",\"exp\":");
+    private static final byte[] STANDARD_ACCESS = ascii(",\"type\":\"access\"");
+    private static final byte[] STANDARD_REFRESH = ascii(",\"type\":\"refresh\"");
+    private static final byte[] STANDARD_USER_ID = ascii(",\"" + TokenClaims.USER_ID + "\":");
+    private static final byte[] STANDARD_TOKEN_VERSION = ascii(",\"" + TokenClaims.TOKEN_VERSION + "\":");
+    private static final byte[] COMPACT_ACCESS = ascii(",\"" + TokenClaims.FORMAT_VERSION + "\":" + TokenClaims.COMPACT_V1
+            + ",\"" + TokenClaims.COMPACT_TYPE + "\":\"" + TokenClaims.COMPACT_ACCESS + "\"");
+    private static final byte[] COMPACT_REFRESH = ascii(",\"" + TokenClaims.FORMAT_VERSION + "\":" + TokenClaims.COMPACT_V1
+            + ",\"" + TokenClaims.COMPACT_TYPE + "\":\"" + TokenClaims.COMPACT_REFRESH + "\"");
+    private static final byte[] COMPACT_USER_ID = ascii(",\"" + TokenClaims.COMPACT_USER_ID + "\":");
+    private static final byte[] COMPACT_TOKEN_VERSION = ascii(",\"" + TokenClaims.COMPACT_TOKEN_VERSION + "\":");
+    private static final byte[] COMPACT_AUTHORITIES = ascii(",\"" + TokenClaims.COMPACT_AUTHORITIES + "\":");
+
+    private final SecretKey key;
+    private final byte[] standardHeader;
+    private final byte[] compactHeader;
+    private final ThreadLocal<Buffers> buffers;
+    // ,"roles":[...] by authority bitmask, built on first use
+    private final AtomicReferenceArray<byte[]> roles = new AtomicReferenceArray<>(AuthorityBitmask.size());
+
+    TokenIssuer(SecretKey key) {
+        this.key = key;
+        String algorithm = "HS" + key.getAlgorithm().substring("HmacSHA".length());
+        this.standardHeader = headerSegment("{\"typ\":\"JWT\",\"alg\":\"" + algorithm + "\"}");
+        this.compactHeader = headerSegment("{\"alg\":\"" + algorithm + "\"}");
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(newMac()));
+    }
+
+    /**
+     * @param authorities bitmask of the authorities of an access token, or {@link #NO_AUTHORITIES}
+     * @param userId      user id and token version are written only when both are present
+     */
+    String issue(boolean compact, String type, String subject, long issuedAtMillis, long expiresAtMillis,
+                 Long userId, Long tokenVersion, long authorities) {
+        Buffers buffers = this.buffers.get();
+        boolean access = TokenClaims.ACCESS.equals(type);
+
+        Payload payload = buffers.payload;
+        payload.reset();
+        payload.write(SUBJECT);
+        payload.writeEscaped(subject);
+        payload.write(ISSUED_AT);
+        payload.write(issuedAtMillis / 1000);
+        payload.write(EXPIRATION);
+        payload.write(expiresAtMillis / 1000);
+        if (compact) {
+            payload.write(access ? COMPACT_ACCESS : COMPACT_REFRESH);
+            if (userId != null && tokenVersion != null) {
+                payload.write(COMPACT_USER_ID);
+                payload.write(userId);
+                payload.write(COMPACT_TOKEN_VERSION);
+                payload.write(tokenVersion);
+            }
+            if (authorities != NO_AUTHORITIES) {
+                payload.write(COMPACT_AUTHORITIES);
+                payload.write(authorities);
+            }
+        } else {
+            payload.write(access ? STANDARD_ACCESS : STANDARD_REFRESH);
+            if (userId != null && tokenVersion != null) {
+                payload.write(STANDARD_USER_ID);
+                payload.write(userId);
+                payload.write(STANDARD_TOKEN_VERSION);
+                payload.write(tokenVersion);
+            }
+            if (authorities != NO_AUTHORITIES) {
+                payload.write(rolesFragment(authorities));
+            }
+        }
+        payload.write((byte) '}');
+
+        byte[] header = compact ? compactHeader : standardHeader;
+        Mac mac = buffers.mac;
+        int signatureLength = mac.getMacLength();
+        byte[] out = buffers.output(header.length + encodedLength(payload.length) + 1 + encodedLength(signatureLength));
+
+        System.arraycopy(header, 0, out, 0, header.length);
+        int position = encode(payload.bytes, 0, payload.length, out, header.length);
+        try {
+            mac.update(out, 0, position);
+            mac.doFinal(buffers.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+        out[position++] = '.';
+        position = encode(buffers.signature, 0, signatureLength, out, position);
+        return new String(out, 0, position, StandardCharsets.ISO_8859_1);
+    }
+
+    private byte[] rolesFragment(long mask) {
+        byte[] fragment = roles.get((int) mask);
+        if (fragment == null) {
+            StringBuilder json = new StringBuilder(",\"").append(TokenClaims.ROLES).append("\":[");
+            List<GrantedAuthority> authorities = AuthorityBitmask.decode(mask);
+            for (int i = 0; i < authorities.size(); i++) {
+                json.append(i == 0 ? "\"" : ",\"").append(authorities.get(i).getAuthority()).append('"');
+            }
+            fragment = ascii(json.append(']').toString());
+            roles.lazySet((int) mask, fragment);
+        }
+        return fragment;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + key.getAlgorithm(), e);
+        }
+    }
+
+    private static byte[] headerSegment(String json) {
+        byte[] bytes = ascii(json);
+        byte[] segment = new byte[encodedLength(bytes.length) + 1];
+        segment[encode(bytes, 0, bytes.length, segment, 0)] = '.';
+        return segment;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static int encodedLength(int length) {
+        return length / 3 * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    /**
+     * Base64URL without padding.
+     *
+     * @return position in {@code dst} after the last written byte
+     */
+    static int encode(byte[] src, int offset, int length, byte[] dst, int position) {
+        int end = offset + length;
+        int i = offset;
+        for (; i + 2 < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[position++] = BASE64_URL[bits >>> 18];
+            dst[position++] = BASE64_URL[bits >>> 12 & 0x3f];
+            dst[position++] = BASE64_URL[bits >>> 6 & 0x3f];
+            dst[position++] = BASE64_URL[bits & 0x3f];
+        }
+        if (i < end) {
+            int bits = (src[i] & 0xff) << 16 | (i + 1 < end ? (src[i + 1] & 0xff) << 8 : 0);
+            dst[position++] = BASE64_URL[bits >>> 18];
+            dst[position++] = BASE64_URL[bits >>> 12 & 0x3f];
+            if (i + 1 < end) {
+                dst[position++] = BASE64_URL[bits >>> 6 & 0x3f];
+            }
+        }
+        return position;
+    }
+
+    private static final class Buffers {
+
+        final Mac mac;
+        final Payload payload = new Payload();
+        final byte[] signature;
+        byte[] output = new byte[512];
+
+        Buffers(Mac mac) {
+            this.mac = mac;
+            this.signature = new byte[mac.getMacLength()];
+        }
+
+        byte[] output(int length) {
+            if (output.length < length) {
+                output = new byte[Math.max(length, output.length * 2)];
+            }
+            return output;
+        }
+    }
+
+    /**
+     * UTF-8 JSON payload being written.
+     */
+    private static final class Payload {
+
+        byte[] bytes = new byte[256];
+        int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void write(byte[] fragment) {
+            ensure(fragment.length);
+            System.arraycopy(fragment, 0, bytes, length, fragment.length);
+            length += fragment.length;
+        }
+
+        void write(byte b) {
+            ensure(1);
+            bytes[length++] = b;
+        }
+
+        void write(long value) {
+            if (value == Long.MIN_VALUE) {
+                write(ascii(Long.toString(value)));
+                return;
+            }
+            ensure(20);
+            if (value < 0) {
+                bytes[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                bytes[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte digit = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = digit;
+            }
+        }
+
+        /**
+         * Writes a JSON string body: quotes, backslashes and control characters escaped, the rest as UTF-8.
+         */
+        void writeEscaped(String value) {
+            ensure(value.length() * 6);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    bytes[length++] = '\\';
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    bytes[length++] = '\\';
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    bytes[length++] = HEX[c >> 4];
+                    bytes[length++] = HEX[c & 0xf];
+                } else if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xc0 | c >> 6);
+                    bytes[length++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[length++] = (byte) (0xf0 | codePoint >> 18);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                    bytes[length++] = (byte) (0x80 | codePoint & 0x3f);
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate, replaced like String.getBytes does
+                    bytes[length++] = '?';
+                } else {
+                    bytes[length++] = (byte) (0xe0 | c >> 12);
+                    bytes[length++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    bytes[length++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+        }
+
+        private void ensure(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + additional, bytes.length * 2));
+            }
+        }
+    }
+}
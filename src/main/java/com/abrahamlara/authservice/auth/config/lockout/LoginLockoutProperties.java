@@ -0,0 +1,27 @@
+package com.abrahamlara.authservice.auth.config.lockout;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Automatic temporary lockout after repeated failed logins.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.login-lockout")
+public class LoginLockoutProperties {
+    // Consecutive failures (within failureWindow) that lock the account
+    private int maxAttempts = 5;
+    private Duration lockDuration = Duration.ofMinutes(15);
+    // Failures older than this no longer count towards a lockout
+    private Duration failureWindow = Duration.ofMinutes(15);
+    // How often pending counters are written to the database
+    private Duration flushInterval = Duration.ofSeconds(5);
+    // Upper bound of identifiers tracked in memory; the entries with the oldest failures are evicted beyond it
+    private int maxEntries = 100_000;
+}
@@ -0,0 +1,24 @@
+package com.abrahamlara.authservice.auth.config.lookup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bloom filter of existing usernames and emails used to skip lookups of unknown identifiers.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.known-identifiers")
+public class KnownIdentifierProperties {
+    private boolean enabled = true;
+    // Minimum number of identifiers the filter is sized for (it grows with the users table)
+    private long expectedInsertions = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    // How often the filter is rebuilt from the database, dropping stale usernames and emails
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,124 @@
+package com.abrahamlara.authservice.auth.config.lookup;
+
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.config.invalidation.InvalidationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Answers "can this username or email possibly exist?" without touching the database.
+ * <p>
+ * Backed by a {@link BloomFilter} loaded from the users table on startup and rebuilt periodically.
+ * New identifiers arrive through the {@link com.abrahamlara.authservice.config.invalidation.InvalidationBus}
+ * once their transaction commits, on every node. An identifier added while a rebuild is scanning the table
+ * goes into both filters, so the swap never loses it.
+ * Rows inserted outside the application (SQL scripts, bulk imports) fire no event and are rejected until the
+ * next rebuild; call {@link #rebuild()} after such an import.
+ * Until the first load completes every identifier is reported as possibly existing.
+ */
+@Component
+public class KnownIdentifiers implements InvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownIdentifiers.class);
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM users";
+    private static final String SCAN_SQL = "SELECT username, email FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KnownIdentifierProperties properties;
+
+    // Serializes scheduled and resync rebuilds
+    private final Object rebuildLock = new Object();
+    private volatile BloomFilter current;
+    private BloomFilter building;
+
+    public KnownIdentifiers(JdbcTemplate jdbcTemplate, KnownIdentifierProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * @return {@code false} only if no user has this username or email
+     */
+    public boolean mightExist(String identifier) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(identifier);
+    }
+
+    /**
+     * Users created or renamed on any node are added as soon as their transaction commits.
+     */
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (properties.isEnabled() && event.type() == InvalidationEvent.Type.USER_CHANGED) {
+            put(event.identifiers());
+        }
+    }
+
+    /**
+     * Changes may have been missed while the node was not listening.
+     */
+    @Override
+    public void onResync() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filter from the users table. The first run happens right after startup.
+     */
+    @Scheduled(fixedDelayString = "${security.known-identifiers.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            rebuildFilter();
+        }
+    }
+
+    private void rebuildFilter() {
+        try {
+            Long rows = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+            // Username and email per row, plus headroom for users created until the next rebuild
+            long expected = Math.max(properties.getExpectedInsertions(), (rows == null ? 0 : rows) * 5 / 2);
+            BloomFilter next = new BloomFilter(expected, properties.getFalsePositiveRate());
+
+            synchronized (this) {
+                building = next;
+            }
+            jdbcTemplate.query(SCAN_SQL, (RowCallbackHandler) rs -> {
+                next.put(rs.getString(1));
+                next.put(rs.getString(2));
+            });
+            synchronized (this) {
+                current = next;
+                building = null;
+            }
+            log.info("Known identifier filter rebuilt: {} users, {} bits, {} hash functions",
+                    rows, next.bitSize(), next.hashFunctions());
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                building = null;
+            }
+            // Keep serving with the previous filter (or none, which lets every lookup through)
+            log.warn("Failed to rebuild known identifier filter: {}", ex.getMessage());
+        }
+    }
+
+    private synchronized void put(List<String> identifiers) {
+        for (String identifier : identifiers) {
+            if (current != null) {
+                current.put(identifier);
+            }
+            if (building != null) {
+                building.put(identifier);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.abrahamlara.authservice.auth.config.lookup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Coalescing of concurrent UserDetailsService lookups of the same identifier into one query.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.user-lookup")
+public class UserLookupProperties {
+    private boolean coalesce = true;
+    // How long a lookup waits for an identical one already running before failing
+    private Duration coalesceTimeout = Duration.ofSeconds(5);
+}
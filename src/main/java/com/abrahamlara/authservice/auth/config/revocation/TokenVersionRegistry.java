@@ -0,0 +1,109 @@
+package com.abrahamlara.authservice.auth.config.revocation;
+
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.config.invalidation.InvalidationListener;
+import com.abrahamlara.authservice.shared.collections.ConcurrentLongLongMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory copy of every active user's token version, so checking a token for revocation costs one map
+ * lookup instead of a query.
+ * <p>
+ * Versions are loaded lazily on first use and dropped whenever the {@link com.abrahamlara.authservice.config.invalidation.InvalidationBus}
+ * reports a change to the user, on any node; the next check reloads the committed value.
+ * A token newer than the cached version means the cache is behind (the bump came from another node and its
+ * notification is still in flight), so the version is reloaded before rejecting anything.
+ */
+@Component
+public class TokenVersionRegistry implements InvalidationListener {
+
+    private static final String VERSION_SQL = "SELECT token_version FROM users WHERE id = ?";
+    private static final long UNKNOWN = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentLongLongMap versions = new ConcurrentLongLongMap(16_384);
+    // Bumped on every invalidation, so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TokenVersionRegistry(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return whether a token carrying {@code tokenVersion} is still valid for the user
+     */
+    public boolean isCurrent(long userId, long tokenVersion) {
+        long current = versions.get(userId, UNKNOWN);
+        if (current == UNKNOWN || tokenVersion > current) {
+            current = load(userId);
+        }
+        return current != UNKNOWN && tokenVersion >= current;
+    }
+
+    private long load(long userId) {
+        long seen = invalidations.get();
+        List<Long> rows = jdbcTemplate.queryForList(VERSION_SQL, Long.class, userId);
+        if (rows.isEmpty() || rows.get(0) == null) {
+            return UNKNOWN;
+        }
+        long version = rows.get(0);
+        if (invalidations.get() == seen) {
+            versions.put(userId, version);
+            if (invalidations.get() != seen) {
+                versions.remove(userId);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Visits the users whose version is held: the users recently authenticated on this node.
+     */
+    public void forEachUser(LongConsumer consumer) {
+        versions.forEach((userId, version) -> consumer.accept(userId));
+    }
+
+    /**
+     * Changes whenever a held version may have been invalidated; take it before reading versions for {@link #preload}.
+     */
+    public long invalidationStamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Adds versions read in bulk, unless a change was reported since {@code stamp} was taken.
+     */
+    public void preload(Map<Long, Long> loaded, long stamp) {
+        if (invalidations.get() != stamp) {
+            return;
+        }
+        loaded.forEach((userId, version) -> versions.put(userId, version));
+        if (invalidations.get() != stamp) {
+            loaded.keySet().forEach(versions::remove);
+        }
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.userId() != null && event.type() != InvalidationEvent.Type.LOCKOUT_CHANGED) {
+            invalidations.incrementAndGet();
+            versions.remove(event.userId());
+        }
+    }
+
+    @Override
+    public void onResync() {
+        invalidations.incrementAndGet();
+        versions.clear();
+    }
+
+    int cachedVersions() {
+        return versions.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.abrahamlara.authservice.auth.config.throttle;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Per client IP and per login identifier attempt budgets for {@code /api/v1/auth/login}.
+ */
+@Component
+public class LoginThrottle {
+
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter identifierLimiter;
+
+    public LoginThrottle(LoginThrottleProperties properties) {
+        this.ipLimiter = limiter(properties.getIp());
+        this.identifierLimiter = limiter(properties.getIdentifier());
+    }
+
+    /**
+     * @return {@code 0} if the attempt may proceed, otherwise nanoseconds until the next allowed attempt
+     */
+    public long tryAcquireIp(String ip) {
+        return ipLimiter.tryAcquire(ip);
+    }
+
+    /**
+     * Identifiers are matched case-insensitively so "Admin" and "admin" share one budget.
+     *
+     * @return {@code 0} if the attempt may proceed, otherwise nanoseconds until the next allowed attempt
+     */
+    public long tryAcquireIdentifier(String identifier) {
+        return identifierLimiter.tryAcquire(identifier.toLowerCase(Locale.ROOT));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        ipLimiter.evictIdle();
+        identifierLimiter.evictIdle();
+    }
+
+    private static TokenBucketLimiter limiter(LoginThrottleProperties.Bucket bucket) {
+        return new TokenBucketLimiter(bucket.getCapacity(), bucket.getRefillInterval(), bucket.getMaxEntries());
+    }
+}
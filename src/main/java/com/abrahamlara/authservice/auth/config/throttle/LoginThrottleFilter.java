@@ -0,0 +1,157 @@
+package com.abrahamlara.authservice.auth.config.throttle;
+
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import com.abrahamlara.authservice.shared.exceptions.ProblemTemplate;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects login attempts that exceed the per-IP or per-identifier budget before any database
+ * lookup or password hashing happens.
+ * <p>
+ * The client IP is checked first without touching the body. The login body is then buffered
+ * to read the identifier and replayed to the controller; bodies over {@code maxBodySize} get
+ * {@code 413 Content Too Large}, as a truncated replay would fail as a confusing parse error.
+ * Rejected attempts get {@code 429 Too Many Requests} with a {@code Retry-After} header.
+ */
+@RequiredArgsConstructor
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/v1/auth/login";
+
+    private final LoginThrottle loginThrottle;
+    private final LoginThrottleProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AuthMetrics metrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !LOGIN_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long wait = loginThrottle.tryAcquireIp(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+
+        int maxBodySize = properties.getMaxBodySize();
+        if (request.getContentLengthLong() > maxBodySize) {
+            rejectTooLarge(request, response, maxBodySize);
+            return;
+        }
+        // One byte over the limit tells a body of exactly maxBodySize from a longer chunked one
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            rejectTooLarge(request, response, maxBodySize);
+            return;
+        }
+        String identifier = extractIdentifier(body);
+        if (identifier != null) {
+            wait = loginThrottle.tryAcquireIdentifier(identifier);
+            if (wait > 0) {
+                reject(request, response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String extractIdentifier(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isString() && !username.stringValue().isBlank() ? username.stringValue() : null;
+        } catch (JacksonException ex) {
+            // Malformed bodies are left to the controller, which answers 400
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        metrics.recordError(ErrorCode.TOO_MANY_REQUESTS);
+
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        ProblemTemplate.of(ErrorCode.TOO_MANY_REQUESTS).write(response,
+                "Too many login attempts, retry in " + retryAfter + " seconds", request.getRequestURI());
+    }
+
+    private void rejectTooLarge(HttpServletRequest request, HttpServletResponse response, int maxBodySize)
+            throws IOException {
+        metrics.recordError(ErrorCode.CONTENT_TOO_LARGE);
+        ProblemTemplate.of(ErrorCode.CONTENT_TOO_LARGE).write(response,
+                "Login request body exceeds " + maxBodySize + " bytes", request.getRequestURI());
+    }
+
+    /**
+     * Replays an already consumed request body to downstream consumers.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() { return in.available() == 0; }
+
+                @Override
+                public boolean isReady() { return true; }
+
+                @Override
+                public void setReadListener(ReadListener listener) { throw new UnsupportedOperationException(); }
+
+                @Override
+                public int read() { return in.read(); }
+
+                @Override
+                public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() { return body.length; }
+
+        @Override
+        public long getContentLengthLong() { return body.length; }
+    }
+}
@@ -0,0 +1,41 @@
+package com.abrahamlara.authservice.auth.config.throttle;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Limits for the pre-authentication login throttle.
+ * A bucket holds {@code capacity} attempts and regains one every {@code refillInterval}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+    private Bucket ip = new Bucket(30, Duration.ofSeconds(2), 100_000);
+    private Bucket identifier = new Bucket(5, Duration.ofSeconds(30), 100_000);
+    // Largest login body accepted; larger ones are answered with 413
+    private int maxBodySize = 4096;
+
+    @Getter
+    @Setter
+    public static class Bucket {
+        private int capacity;
+        private Duration refillInterval;
+        private int maxEntries;
+
+        public Bucket() {}
+
+        public Bucket(int capacity, Duration refillInterval, int maxEntries) {
+            this.capacity = capacity;
+            this.refillInterval = refillInterval;
+            this.maxEntries = maxEntries;
+        }
+    }
+}
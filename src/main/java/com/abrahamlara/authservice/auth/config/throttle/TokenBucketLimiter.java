@@ -0,0 +1,127 @@
+package com.abrahamlara.authservice.auth.config.throttle;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token-bucket rate limiter with bounded memory.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical arrival time" (GCRA form of a
+ * token bucket), so acquiring a token is one CAS with no locks and no allocation for known keys.
+ * Keys are spread over independent stripes, each capped at {@code maxEntries / stripes} buckets.
+ * Buckets that have refilled completely carry no state and are evicted, so idle keys cost nothing.
+ */
+public class TokenBucketLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxEntriesPerStripe;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param capacity       maximum burst size (tokens in a full bucket)
+     * @param refillInterval time needed to regain a single token
+     * @param maxEntries     upper bound of tracked keys across all stripes
+     */
+    public TokenBucketLimiter(int capacity, Duration refillInterval, int maxEntries) {
+        this(capacity, refillInterval, maxEntries, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillInterval, int maxEntries, LongSupplier clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.emissionIntervalNanos = refillInterval.toNanos();
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / STRIPES);
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of the given key.
+     *
+     * @return {@code 0} when the token was granted, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = stripeFor(key).bucket(key, now);
+
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, now);
+            long wait = base - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes every bucket that has refilled completely. Safe to call concurrently with {@link #tryAcquire}.
+     */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        for (Stripe stripe : stripes) {
+            stripe.evictIdle(now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private final class Stripe {
+
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        AtomicLong bucket(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= maxEntriesPerStripe) {
+                makeRoom(now);
+            }
+            return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        void evictIdle(long now) {
+            buckets.values().removeIf(tat -> tat.get() <= now);
+        }
+
+        /**
+         * Drops idle buckets first; under a flood of distinct keys also drops arbitrary ones,
+         * which at worst hands a fresh bucket to a key that was being throttled.
+         */
+        private void makeRoom(long now) {
+            evictIdle(now);
+            Iterator<Map.Entry<String, AtomicLong>> it = buckets.entrySet().iterator();
+            while (buckets.size() >= maxEntriesPerStripe && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+}
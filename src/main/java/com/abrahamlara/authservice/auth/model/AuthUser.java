@@ -0,0 +1,25 @@
+package com.abrahamlara.authservice.auth.model;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated principal carrying the user id and token version, so issued tokens can be tied to them.
+ */
+@Getter
+public class AuthUser extends User {
+
+    private final Long userId;
+    private final long tokenVersion;
+
+    public AuthUser(Long userId, long tokenVersion, String username, String password, boolean enabled,
+                    boolean accountNonExpired, boolean credentialsNonExpired, boolean accountNonLocked,
+                    Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, accountNonExpired, credentialsNonExpired, accountNonLocked, authorities);
+        this.userId = userId;
+        this.tokenVersion = tokenVersion;
+    }
+}
@@ -0,0 +1,44 @@
+package com.abrahamlara.authservice.auth.model;
+
+import lombok.Getter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authentication built from a verified access token alone: no user lookup and no password.
+ * The principal is the username; authorities are the token's shared, precomputed authority list.
+ */
+@Getter
+public class TokenAuthentication extends AbstractAuthenticationToken {
+
+    private final Long userId;
+    private final String username;
+    private final Collection<GrantedAuthority> authorities;
+
+    public TokenAuthentication(Long userId, String username, Collection<GrantedAuthority> authorities) {
+        // The superclass would copy the authorities; the shared immutable list is kept instead
+        super(List.of());
+        this.userId = userId;
+        this.username = username;
+        this.authorities = authorities;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+}
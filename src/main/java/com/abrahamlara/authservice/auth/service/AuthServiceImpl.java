@@ -1,16 +1,33 @@
 package com.abrahamlara.authservice.auth.service;
 
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import com.abrahamlara.authservice.audit.service.AuditService;
 import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.config.jwt.TokenClaims;
+import com.abrahamlara.authservice.auth.config.revocation.TokenVersionRegistry;
 import com.abrahamlara.authservice.auth.dto.AuthResponse;
 import com.abrahamlara.authservice.auth.dto.LoginRequest;
 import com.abrahamlara.authservice.auth.dto.RefreshTokenRequest;
+import com.abrahamlara.authservice.auth.model.AuthUser;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
 import com.abrahamlara.authservice.shared.dto.InvalidTokenException;
+import com.abrahamlara.authservice.shared.exceptions.ResourceNotFoundException;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import com.abrahamlara.authservice.user.service.UserResponseCache;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,32 +45,81 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AuthMetrics metrics;
+    private final LoginAttemptService loginAttemptService;
+    private final AuditService auditService;
+    private final TokenVersionRegistry tokenVersions;
+    private final UserResponseCache userResponseCache;
 
     @Override
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.username(),
-                        request.password()
-                )
-        );
+        Timer.Sample sample = Timer.start();
+
+        // Locked identifiers are rejected before the user lookup and BCrypt verification
+        if (loginAttemptService.isLocked(request.username())) {
+            sample.stop(metrics.loginFailure());
+            auditService.record(AuditEventType.LOGIN_LOCKED, request.username(), null);
+            throw new LockedException("Login temporarily locked for: " + request.username());
+        }
+
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.username(),
+                            request.password()
+                    )
+            );
+        } catch (AuthenticationException ex) {
+            // Only wrong passwords of existing users count: the provider wraps an unknown identifier into
+            // BadCredentialsException with the UsernameNotFoundException as cause, and tracking those would
+            // cost a row update per random string and let a flood of them crowd out real accounts
+            if (ex instanceof BadCredentialsException && !(ex.getCause() instanceof UsernameNotFoundException)) {
+                loginAttemptService.recordFailure(request.username());
+            }
+            sample.stop(metrics.loginFailure());
+            auditService.record(ex instanceof LockedException ? AuditEventType.LOGIN_LOCKED : AuditEventType.LOGIN_FAILURE,
+                    request.username(), ex.getClass().getSimpleName());
+            throw ex;
+        }
+        loginAttemptService.recordSuccess(request.username());
+        auditService.record(AuditEventType.LOGIN_SUCCESS, request.username(), null);
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(request.username());
 
         String access = jwtService.generateAccessToken(userDetails);
         String refresh = jwtService.generateRefreshToken(userDetails);
 
+        sample.stop(metrics.loginSuccess());
         return new AuthResponse(access, refresh);
     }
 
+    /**
+     * Verifies the refresh token once and carries its decoded claims through the whole refresh.
+     * Runs outside a transaction: for tokens with a user id and version the user is resolved from memory.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtService.isRefreshTokenValid(refreshToken)) {
+        TokenClaims claims;
+        try {
+            claims = jwtService.decode(refreshToken);
+        } catch (JwtException | IllegalArgumentException ex) {
+            claims = null;
+        }
+        if (claims == null || !claims.isRefresh()) {
+            auditService.record(AuditEventType.TOKEN_REFRESH_FAILURE, null, "Invalid refresh token");
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        String username = claims.subject();
+        UserDetails userDetails = resolveUser(claims);
+        // Revoked by a password, role or status change since it was issued, or the account is no longer active
+        if (userDetails == null || !userDetails.isEnabled()) {
+            auditService.record(AuditEventType.TOKEN_REFRESH_FAILURE, username, "Revoked refresh token");
             throw new InvalidTokenException("Invalid refresh token");
         }
-        String username = jwtService.extractUsername(refreshToken);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
         String newAccess = jwtService.generateAccessToken(userDetails);
+        auditService.record(AuditEventType.TOKEN_REFRESH, username, null);
         /*
          * NOTE: Refresh rotation is disabled. In real production scenarios it should be enabled.
          * String newRefreshToken = jwtService.generateRefreshToken(userDetails);
@@ -61,4 +127,37 @@ public class AuthServiceImpl implements AuthService {
          */
         return new AuthResponse(newAccess, refreshToken);
     }
+
+    /**
+     * A current token version proves the password, role and status are unchanged since the token was issued,
+     * so the user is built from the version registry and the user response cache without a query on a hit.
+     * Tokens issued before user ids were embedded load the user.
+     *
+     * @return the user, or {@code null} if the token has been revoked or the user no longer exists
+     */
+    private UserDetails resolveUser(TokenClaims claims) {
+        if (claims.userId() == null || claims.tokenVersion() == null) {
+            return userDetailsService.loadUserByUsername(claims.subject());
+        }
+        if (!tokenVersions.isCurrent(claims.userId(), claims.tokenVersion())) {
+            return null;
+        }
+        UserResponse user;
+        try {
+            user = userResponseCache.get(claims.userId()).body();
+        } catch (ResourceNotFoundException ex) {
+            return null;
+        }
+        return new AuthUser(
+                user.id(),
+                claims.tokenVersion(),
+                user.username(),
+                "",                                   // not needed to issue tokens
+                user.status() == UserStatus.ACTIVE,   // enabled
+                true,                                 // accountNonExpired
+                true,                                 // credentialsNonExpired
+                true,                                 // accountNonLocked: lockout does not apply to refresh
+                user.role().getAuthorities()
+        );
+    }
 }
@@ -0,0 +1,232 @@
+package com.abrahamlara.authservice.auth.service;
+
+import com.abrahamlara.authservice.auth.config.lockout.LoginLockoutProperties;
+import com.abrahamlara.authservice.config.invalidation.InvalidationBus;
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks failed logins per identifier and temporarily locks accounts that exceed the limit.
+ * <p>
+ * Counters live in memory so a locked account is rejected before any lookup or password hashing.
+ * Changes are persisted on a schedule: every identifier touched since the last flush produces
+ * exactly one row update in a single JDBC batch, however many attempts it received.
+ * The persisted {@code locked_until} keeps the lock across restarts and other nodes. A counter flush only ever
+ * extends it, since another node (or the account's other identifier) may hold a lock this node has not seen;
+ * only a successful login clears it. Users whose lock was set or cleared are announced on the
+ * {@link InvalidationBus} so no node keeps serving a cached copy.
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    // GREATEST ignores NULL, so a node without a lock leaves the persisted one in place
+    private static final String FLUSH_SQL = "UPDATE users SET failed_login_attempts = ?, "
+            + "locked_until = GREATEST(locked_until, ?) WHERE username = ? OR email = ?";
+    private static final String RESET_SQL =
+            "UPDATE users SET failed_login_attempts = 0, locked_until = NULL WHERE username = ? OR email = ?";
+    private static final String USER_IDS_SQL =
+            "SELECT id FROM users WHERE username = ANY(?) OR email = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final LoginLockoutProperties properties;
+    private final InvalidationBus invalidationBus;
+    private final LongSupplier clock;
+
+    private final Map<String, AttemptState> attempts = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    // Successful logins since the last flush, whose persisted counter and lock are cleared
+    private final Set<String> resets = ConcurrentHashMap.newKeySet();
+    // Serializes evictions of a full table, so concurrent failures do not each scan it
+    private final Object evictionLock = new Object();
+
+    @Autowired
+    public LoginAttemptService(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                               LoginLockoutProperties properties, InvalidationBus invalidationBus) {
+        this(jdbcTemplate, transactionOperations, properties, invalidationBus, System::currentTimeMillis);
+    }
+
+    LoginAttemptService(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                        LoginLockoutProperties properties, InvalidationBus invalidationBus, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        this.clock = clock;
+    }
+
+    public boolean isLocked(String identifier) {
+        AttemptState state = attempts.get(identifier);
+        return state != null && state.lockedUntil > clock.getAsLong();
+    }
+
+    public void recordFailure(String identifier) {
+        AttemptState state = attempts.get(identifier);
+        if (state == null) {
+            if (attempts.size() >= properties.getMaxEntries()) {
+                evictOldest();
+            }
+            state = attempts.computeIfAbsent(identifier, k -> new AttemptState());
+        }
+
+        long now = clock.getAsLong();
+        synchronized (state) {
+            if (now - state.lastFailure > properties.getFailureWindow().toMillis()) {
+                state.failures = 0;
+            }
+            state.failures++;
+            state.lastFailure = now;
+            if (state.failures >= properties.getMaxAttempts()) {
+                state.lockedUntil = now + properties.getLockDuration().toMillis();
+                state.failures = 0;
+                log.warn("Login locked for '{}' until {}", identifier, new Timestamp(state.lockedUntil));
+            }
+        }
+        dirty.add(identifier);
+    }
+
+    public void recordSuccess(String identifier) {
+        AttemptState state = attempts.remove(identifier);
+        if (state != null) {
+            // Persist the reset only if there was something to reset
+            resets.add(identifier);
+            dirty.add(identifier);
+        }
+    }
+
+    /**
+     * Writes every identifier changed since the previous flush in one JDBC batch.
+     */
+    @Scheduled(fixedDelayString = "${security.login-lockout.flush-interval:5s}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            evictExpired();
+            return;
+        }
+
+        List<String> identifiers = new ArrayList<>();
+        List<Object[]> resetBatch = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        // Locked, or reset after a successful login: the only writes that change an authentication decision
+        List<String> lockChanges = new ArrayList<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String identifier = it.next();
+            it.remove();
+            identifiers.add(identifier);
+            // A reset followed by new failures writes both, in that order
+            if (resets.remove(identifier)) {
+                resetBatch.add(new Object[]{identifier, identifier});
+                lockChanges.add(identifier);
+            }
+            AttemptState state = attempts.get(identifier);
+            if (state == null) {
+                continue;
+            }
+            int failures;
+            Timestamp lockedUntil;
+            synchronized (state) {
+                failures = state.failures;
+                lockedUntil = state.lockedUntil > 0 ? new Timestamp(state.lockedUntil) : null;
+            }
+            batch.add(new Object[]{failures, lockedUntil, identifier, identifier});
+            if (lockedUntil != null) {
+                lockChanges.add(identifier);
+            }
+        }
+
+        try {
+            // Explicit transaction: with auto-commit disabled on the pool an untransacted batch would be rolled back
+            transactionOperations.executeWithoutResult(status -> {
+                if (!resetBatch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(RESET_SQL, resetBatch);
+                }
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                }
+                announceLockChanges(lockChanges);
+            });
+        } catch (RuntimeException ex) {
+            // Keep the identifiers pending so the next flush retries them
+            resetBatch.forEach(row -> resets.add((String) row[0]));
+            dirty.addAll(identifiers);
+            log.warn("Failed to flush {} login attempt counters: {}", identifiers.size(), ex.getMessage());
+        }
+        evictExpired();
+    }
+
+    private void announceLockChanges(List<String> identifiers) {
+        if (identifiers.isEmpty()) {
+            return;
+        }
+        String[] values = identifiers.toArray(String[]::new);
+        for (Long userId : jdbcTemplate.queryForList(USER_IDS_SQL, Long.class, values, values)) {
+            invalidationBus.publish(InvalidationEvent.Type.LOCKOUT_CHANGED, userId);
+        }
+    }
+
+    int pendingWrites() {
+        return dirty.size();
+    }
+
+    /**
+     * Drops state that no longer affects anything: lock expired and failures outside the window.
+     */
+    private void evictExpired() {
+        long now = clock.getAsLong();
+        long window = properties.getFailureWindow().toMillis();
+        attempts.entrySet().removeIf(e -> {
+            AttemptState s = e.getValue();
+            return s.lockedUntil <= now && now - s.lastFailure > window && !dirty.contains(e.getKey());
+        });
+    }
+
+    /**
+     * Makes room when the table is full: drops expired state, then the tenth of the entries with the oldest
+     * failures. Entries not yet flushed are kept. An evicted lock is still enforced from {@code locked_until}
+     * once the user is loaded, only without the shortcut before the lookup.
+     */
+    private void evictOldest() {
+        synchronized (evictionLock) {
+            int max = properties.getMaxEntries();
+            if (attempts.size() < max) {
+                return;
+            }
+            evictExpired();
+            int excess = attempts.size() - max + Math.max(max / 10, 1);
+            if (excess <= 0) {
+                return;
+            }
+            attempts.entrySet().stream()
+                    .filter(e -> !dirty.contains(e.getKey()))
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastFailure))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(attempts::remove);
+        }
+    }
+
+    private static final class AttemptState {
+        private int failures;
+        private volatile long lastFailure;
+        private volatile long lockedUntil;
+    }
+}
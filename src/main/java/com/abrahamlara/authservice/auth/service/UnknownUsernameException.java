@@ -0,0 +1,19 @@
+package com.abrahamlara.authservice.auth.service;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * {@link UsernameNotFoundException} without a stack trace. Unknown identifiers are routine under credential stuffing
+ * and the DaoAuthenticationProvider replaces the exception with a BadCredentialsException anyway.
+ */
+class UnknownUsernameException extends UsernameNotFoundException {
+
+    UnknownUsernameException(String username) {
+        super("User not found: " + username);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -1,7 +1,12 @@
 package com.abrahamlara.authservice.auth.service;
 
+import com.abrahamlara.authservice.auth.config.lookup.KnownIdentifiers;
+import com.abrahamlara.authservice.auth.config.lookup.UserLookupProperties;
+import com.abrahamlara.authservice.auth.model.AuthUser;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.shared.concurrent.SingleFlight;
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import com.abrahamlara.authservice.user.model.User;
 import com.abrahamlara.authservice.user.model.UserStatus;
@@ -9,57 +14,91 @@ import org.springframework.security.core.GrantedAuthority;
 import com.abrahamlara.authservice.user.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
-import java.util.Set;
-import java.util.HashSet;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Implementation of UserDetailsService to load user-specific data.
+ * <p>
+ * Concurrent lookups of the same identifier (a burst of requests of one account) share a single query.
+ * What is shared is the loaded entity, never a UserDetails: authentication erases the password of the
+ * UserDetails it used, so every caller gets its own.
  */
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final AuthMetrics metrics;
+    private final KnownIdentifiers knownIdentifiers;
+    private final SingleFlight<String, Optional<User>> lookups;
+
+    public UserDetailsServiceImpl(UserRepository userRepository, AuthMetrics metrics,
+                                  KnownIdentifiers knownIdentifiers, UserLookupProperties properties) {
+        this.userRepository = userRepository;
+        this.metrics = metrics;
+        this.knownIdentifiers = knownIdentifiers;
+        this.lookups = properties.isCoalesce()
+                ? new SingleFlight<>(properties.getCoalesceTimeout(), metrics.userLookupCoalesced())
+                : null;
+    }
 
     /**
      * Locates the user based on the username or email.
+     * Identifiers the known identifier filter has never seen are rejected without a query;
+     * the DaoAuthenticationProvider still hashes the password for them, so timing does not reveal it.
+     * No transaction is opened here, so callers waiting for an identical lookup do not hold a connection.
+     * Email lookups run in the read-only transaction declared on {@link UserRepository#findByUsernameOrEmail},
+     * which routes them to the replica; username lookups go through the natural-id cache.
      * @param username the username or email identifying the user whose data is required.
      * @return a fully populated UserDetails object (never null)
      * @throws UsernameNotFoundException if the user could not be found
      */
     @Override
     public @NonNull UserDetails loadUserByUsername(@NonNull String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(username , username).orElseThrow(() ->
-                new UsernameNotFoundException("User not found: " + username)
+        if (!knownIdentifiers.mightExist(username)) {
+            metrics.userLookupSkipped().increment();
+            throw new UnknownUsernameException(username);
+        }
+
+        Optional<User> found = lookups != null ? lookups.execute(username, () -> find(username)) : find(username);
+        User user = found.orElseThrow(() ->
+                new UnknownUsernameException(username)
         );
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthUser(
+                user.getId(),
+                user.getTokenVersion(),
                 user.getUsername(),                    // username
                 user.getPassword(),                    // password
-                user.getStatus() == UserStatus.ACTIVE, // enabled
+                user.getStatus() == UserStatus.ACTIVE, // enabled: inactive and suspended accounts are disabled
                 true,                                  // accountNonExpired
                 true,                                  // credentialsNonExpired
-                user.getStatus() != UserStatus.SUSPENDED, // accountNonLocked
+                !user.isLockedAt(Instant.now()),       // accountNonLocked: only the temporary login lockout
                 mapAuthorities(user)
         );
     }
 
     /**
-     * Converts user roles and permissions into GrantedAuthority collection.
+     * Emails always contain '@', so anything else can only be a username and is resolved by natural id,
+     * usually from the second-level cache.
+     */
+    private Optional<User> find(String username) {
+        Timer.Sample sample = Timer.start();
+        Optional<User> found = username.indexOf('@') < 0
+                ? userRepository.loadByUsername(username)
+                : userRepository.findByUsernameOrEmail(username , username);
+        sample.stop(metrics.userLookup(found.isPresent()));
+        return found;
+    }
+
+    /**
+     * Role and permission authorities of the user, precomputed per role.
      * @param user the user entity
      * @return collection of granted authorities
      */
     private Collection<? extends GrantedAuthority> mapAuthorities(User user) {
-        Set<GrantedAuthority> authorities = new HashSet<>();
-        // ROLE_
-        authorities.add(new SimpleGrantedAuthority(user.getRole().asAuthority()));
-        // PERMISSIONS
-        user.getRole().getPermissions().forEach(permission ->
-                authorities.add(new SimpleGrantedAuthority(permission.name()))
-        );
-        return authorities;
+        return user.getRole().getAuthorities();
     }
 }
\ No newline at end of file
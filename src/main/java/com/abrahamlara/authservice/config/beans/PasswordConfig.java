@@ -1,5 +1,7 @@
 package com.abrahamlara.authservice.config.beans;
 
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.config.metrics.TimedPasswordEncoder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,9 +21,10 @@ public class PasswordConfig {
 
     /**
      * Exposes the PasswordEncoder bean for use across authentication and registration flows.
+     * Hashing time is recorded under {@code auth.password.hash}.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(bcryptStrength);
+    public PasswordEncoder passwordEncoder(AuthMetrics metrics) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), metrics);
     }
 }
@@ -0,0 +1,145 @@
+package com.abrahamlara.authservice.config.cache;
+
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary cache snapshot, read and written through memory-mapped files.
+ * <p>
+ * Layout: magic, format version and entry count as ints, then per entry the user id and the {@code @Version}
+ * of its response as longs ({@link Entry#NO_VERSION} when only the id is known), followed for responses by
+ * username, email, role and status as length-prefixed UTF-8. A new snapshot is written next to the old one and
+ * moved over it, so readers only ever see a complete file.
+ */
+final class CacheSnapshotFile {
+
+    static final int MAGIC = 0x41534E50;
+    static final int FORMAT = 1;
+
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    private CacheSnapshotFile() {
+    }
+
+    /**
+     * @param response null when only the id is known; {@code version} is then {@link #NO_VERSION}
+     */
+    record Entry(long userId, long version, UserResponse response) {
+        static final long NO_VERSION = -1;
+    }
+
+    static void write(Path path, List<Entry> entries) throws IOException {
+        List<byte[][]> fields = new ArrayList<>(entries.size());
+        long size = HEADER_BYTES;
+        for (Entry entry : entries) {
+            size += 2 * Long.BYTES;
+            byte[][] strings = null;
+            if (entry.response() != null) {
+                UserResponse response = entry.response();
+                strings = new byte[][]{utf8(response.username()), utf8(response.email()),
+                        utf8(response.role().name()), utf8(response.status().name())};
+                for (byte[] string : strings) {
+                    size += Integer.BYTES + string.length;
+                }
+            }
+            fields.add(strings);
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC).putInt(FORMAT).putInt(entries.size());
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = entries.get(i);
+                    byte[][] strings = fields.get(i);
+                    buffer.putLong(entry.userId()).putLong(strings == null ? Entry.NO_VERSION : entry.version());
+                    if (strings != null) {
+                        for (byte[] string : strings) {
+                            buffer.putInt(string.length).put(string);
+                        }
+                    }
+                }
+                buffer.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return at most {@code maxEntries} entries; responses whose role or status no longer exists are dropped
+     * @throws IOException if the file is not a snapshot of this format or is truncated
+     */
+    static List<Entry> read(Path path, int maxEntries) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a cache snapshot");
+            }
+            int format = buffer.getInt();
+            if (format != FORMAT) {
+                throw new IOException("Unsupported cache snapshot format " + format);
+            }
+            int count = Math.min(buffer.getInt(), maxEntries);
+            List<Entry> entries = new ArrayList<>(Math.max(count, 0));
+            for (int i = 0; i < count; i++) {
+                long userId = buffer.getLong();
+                long version = buffer.getLong();
+                if (version == Entry.NO_VERSION) {
+                    entries.add(new Entry(userId, version, null));
+                    continue;
+                }
+                String username = string(buffer);
+                String email = string(buffer);
+                String role = string(buffer);
+                String status = string(buffer);
+                entries.add(response(userId, version, username, email, role, status));
+            }
+            return entries;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated cache snapshot", e);
+        }
+    }
+
+    private static Entry response(long userId, long version, String username, String email, String role,
+                                  String status) {
+        try {
+            return new Entry(userId, version, new UserResponse(userId, username, email,
+                    Role.valueOf(role), UserStatus.valueOf(status)));
+        } catch (IllegalArgumentException e) {
+            // Written by a version with other roles or statuses; the id is still worth warming
+            return new Entry(userId, Entry.NO_VERSION, null);
+        }
+    }
+
+    private static String string(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,24 @@
+package com.abrahamlara.authservice.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the hot user entries written to local disk, so a restarted node starts with warm caches.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "cache-snapshot")
+public class CacheSnapshotProperties {
+    private boolean enabled = false;
+    // Must survive restarts: a persistent volume in containers
+    private String path = "data/cache-snapshot.bin";
+    private Duration writeInterval = Duration.ofMinutes(5);
+    // Users written per snapshot; cached responses go first, then users only known by their token version
+    private int maxEntries = 10_000;
+}
@@ -0,0 +1,204 @@
+package com.abrahamlara.authservice.config.cache;
+
+import com.abrahamlara.authservice.auth.config.revocation.TokenVersionRegistry;
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.config.invalidation.InvalidationListener;
+import com.abrahamlara.authservice.config.invalidation.InvalidationProperties;
+import com.abrahamlara.authservice.shared.dto.Versioned;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.service.UserResponseCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the users held by {@link TokenVersionRegistry} and {@link UserResponseCache} to a {@link CacheSnapshotFile}
+ * on a schedule and at shutdown, and puts them back in both caches at startup.
+ * <p>
+ * Restored entries are checked against the database first, in one query for the whole snapshot: token versions
+ * are taken from it, and a response is only restored if its {@code @Version} is still current. The restore runs
+ * once the {@link com.abrahamlara.authservice.config.invalidation.InvalidationBus} is listening and has resynced,
+ * so every change committed afterwards reaches the restored entries.
+ */
+@Component
+public class CacheSnapshotService implements InvalidationListener, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSnapshotService.class);
+
+    private static final String CURRENT_SQL = "SELECT id, version, token_version FROM users WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final TokenVersionRegistry tokenVersions;
+    private final UserResponseCache userResponses;
+    private final CacheSnapshotProperties properties;
+    private final InvalidationProperties invalidationProperties;
+
+    private final AtomicBoolean restored = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private volatile boolean running;
+
+    public CacheSnapshotService(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                                TokenVersionRegistry tokenVersions, UserResponseCache userResponses,
+                                CacheSnapshotProperties properties, InvalidationProperties invalidationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.tokenVersions = tokenVersions;
+        this.userResponses = userResponses;
+        this.properties = properties;
+        this.invalidationProperties = invalidationProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${cache-snapshot.write-interval:5m}",
+            initialDelayString = "${cache-snapshot.write-interval:5m}")
+    public void write() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path path = Path.of(properties.getPath());
+        synchronized (writeLock) {
+            List<CacheSnapshotFile.Entry> entries = collect();
+            try {
+                CacheSnapshotFile.write(path, entries);
+                log.debug("Wrote {} users to cache snapshot {}", entries.size(), path);
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Unable to write cache snapshot {}: {}", path, ex.getMessage());
+            }
+        }
+    }
+
+    private List<CacheSnapshotFile.Entry> collect() {
+        int max = properties.getMaxEntries();
+        List<CacheSnapshotFile.Entry> entries = new ArrayList<>();
+        Set<Long> written = new HashSet<>();
+        for (Versioned<UserResponse> cached : userResponses.entries()) {
+            if (entries.size() >= max) {
+                return entries;
+            }
+            UserResponse response = cached.body();
+            boolean complete = response.username() != null && response.email() != null
+                    && response.role() != null && response.status() != null;
+            entries.add(complete
+                    ? new CacheSnapshotFile.Entry(cached.id(), cached.version(), response)
+                    : new CacheSnapshotFile.Entry(cached.id(), CacheSnapshotFile.Entry.NO_VERSION, null));
+            written.add(cached.id());
+        }
+        tokenVersions.forEachUser(userId -> {
+            if (entries.size() < max && written.add(userId)) {
+                entries.add(new CacheSnapshotFile.Entry(userId, CacheSnapshotFile.Entry.NO_VERSION, null));
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Loads the snapshot into the caches, once per run of the application.
+     */
+    void restore() {
+        if (!properties.isEnabled() || !restored.compareAndSet(false, true)) {
+            return;
+        }
+        Path path = Path.of(properties.getPath());
+        if (!Files.exists(path)) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<CacheSnapshotFile.Entry> entries;
+        try {
+            entries = CacheSnapshotFile.read(path, properties.getMaxEntries());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring cache snapshot {}: {}", path, ex.getMessage());
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        long versionStamp = tokenVersions.invalidationStamp();
+        long responseStamp = userResponses.invalidationStamp();
+        Long[] ids = entries.stream().map(CacheSnapshotFile.Entry::userId).toArray(Long[]::new);
+        Map<Long, long[]> current = new HashMap<>();
+        // Read-write transaction: the primary, like every other cache fill
+        transactionOperations.executeWithoutResult(status -> jdbcTemplate.query(CURRENT_SQL,
+                (RowCallbackHandler) rs -> current.put(rs.getLong(1), new long[]{rs.getLong(2), rs.getLong(3)}),
+                (Object) ids));
+
+        Map<Long, Long> versions = new HashMap<>();
+        List<Versioned<UserResponse>> responses = new ArrayList<>();
+        for (CacheSnapshotFile.Entry entry : entries) {
+            long[] row = current.get(entry.userId());
+            if (row == null) {
+                // Deleted since the snapshot
+                continue;
+            }
+            versions.put(entry.userId(), row[1]);
+            if (entry.response() != null && entry.version() == row[0]) {
+                responses.add(new Versioned<>(entry.userId(), entry.version(), entry.response()));
+            }
+        }
+        tokenVersions.preload(versions, versionStamp);
+        userResponses.preload(responses, responseStamp);
+        log.info("Restored {} token versions and {} user responses from cache snapshot {} in {} ms",
+                versions.size(), responses.size(), path, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        // The caches drop their own entries
+    }
+
+    @Override
+    public void onResync() {
+        // Restored in afterResync, once the other listeners have dropped everything
+    }
+
+    @Override
+    public void afterResync() {
+        restore();
+    }
+
+    // =====================================================================
+    // Lifecycle
+    // =====================================================================
+    @Override
+    public void start() {
+        running = true;
+        // Without the bus there is no resync to wait for
+        if (!invalidationProperties.isEnabled()) {
+            try {
+                restore();
+            } catch (RuntimeException ex) {
+                log.warn("Unable to restore cache snapshot: {}", ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            running = false;
+            write();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,67 @@
+package com.abrahamlara.authservice.config.cache;
+
+import com.abrahamlara.authservice.user.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Second-level cache regions for Hibernate, backed by bounded Caffeine caches through JCache.
+ * <p>
+ * Only the regions declared by entities are created (there is no query cache), and Hibernate fails to start
+ * if an entity asks for one that is missing. Statistics are enabled so the regions are exported as
+ * {@code hibernate.second.level.cache.*} and {@code hibernate.cache.natural.id.*} meters.
+ */
+@Configuration
+@ImportRuntimeHints(EntityCacheRuntimeHints.class)
+public class EntityCacheConfig {
+
+    private static final List<String> REGIONS = List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, regionConfiguration(properties));
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(EntityCacheProperties properties,
+                                                              CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            if (!properties.isEnabled()) {
+                return;
+            }
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(EntityCacheProperties properties) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(properties.getMaxEntries()));
+        configuration.setExpireAfterWrite(OptionalLong.of(properties.getTimeToLive().toNanos()));
+        // Hibernate stores its own immutable cache entries: copying them on every access would be pure overhead
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,42 @@
+package com.abrahamlara.authservice.config.cache;
+
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.config.invalidation.InvalidationListener;
+import com.abrahamlara.authservice.user.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops users changed on any node from this node's second-level cache.
+ * <p>
+ * Hibernate keeps the cache current for changes made through JPA on this node. Changes made on other nodes,
+ * and lockout counters written with plain JDBC, arrive as invalidation events instead.
+ */
+@Component
+public class EntityCacheInvalidator implements InvalidationListener {
+
+    private final SessionFactory sessionFactory;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        sessionFactory.getCache().evictEntityData(User.class, event.userId());
+        if (event.type() == InvalidationEvent.Type.USER_CHANGED || event.type() == InvalidationEvent.Type.USER_DELETED) {
+            // The username may have changed; cached natural ids cannot be dropped one by one
+            sessionFactory.getCache().evictNaturalIdData(User.class);
+        }
+    }
+
+    @Override
+    public void onResync() {
+        sessionFactory.getCache().evictEntityData(User.class);
+        sessionFactory.getCache().evictNaturalIdData(User.class);
+    }
+}
@@ -0,0 +1,23 @@
+package com.abrahamlara.authservice.config.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Hibernate second-level cache of entities and natural ids, local to each node.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheProperties {
+    private boolean enabled = true;
+    // Per region; the least recently used entries are evicted beyond it
+    private long maxEntries = 10_000;
+    // Upper bound on how long an entry changed outside this application (e.g. by hand in the database) stays stale
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
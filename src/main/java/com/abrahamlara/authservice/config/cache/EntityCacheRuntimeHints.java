@@ -0,0 +1,22 @@
+package com.abrahamlara.authservice.config.cache;
+
+import com.github.benmanes.caffeine.jcache.copy.JavaSerializationCopier;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native image metadata for the Caffeine JCache provider: JCache creates it by class name, and its defaults
+ * (read on every cache manager) come from {@code reference.conf} and name classes it instantiates.
+ */
+class EntityCacheRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection()
+                .registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(JavaSerializationCopier.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("reference.conf");
+    }
+}
@@ -0,0 +1,82 @@
+package com.abrahamlara.authservice.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is fetched after the transaction has been marked read-only.
+ * If the replica is lagging or refuses a connection, reads fall back to the primary.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    private volatile boolean replicaAvailable = true;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Route.PRIMARY) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            // Replica down or pool exhausted: serve the read from the primary instead of failing it
+            markReplicaUnavailable("connection failure: " + ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public void markReplicaAvailable() {
+        if (!replicaAvailable) {
+            log.info("Read replica healthy again, routing read-only transactions to it");
+        }
+        replicaAvailable = true;
+    }
+
+    public void markReplicaUnavailable(String reason) {
+        if (replicaAvailable) {
+            log.warn("Read replica unavailable ({}), routing reads to primary", reason);
+        }
+        replicaAvailable = false;
+    }
+}
@@ -0,0 +1,27 @@
+package com.abrahamlara.authservice.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for the optional read replica.
+ * When disabled every transaction is served by the primary defined in {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaDataSourceProperties {
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    // Replication lag above which read-only traffic is sent back to the primary
+    private Duration maxLag = Duration.ofSeconds(5);
+    // How often the replica lag is sampled
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,43 @@
+package com.abrahamlara.authservice.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically samples replication lag on the replica and toggles read routing accordingly.
+ * A replica that cannot be queried is treated as unavailable until the next successful check.
+ */
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+
+    // Lag is zero when everything received has been replayed, otherwise time since last replayed commit
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReadReplicaRoutingDataSource routingDataSource;
+    private final ReplicaDataSourceProperties properties;
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval:5s}")
+    public void checkLag() {
+        try {
+            Number lagMillis = replicaJdbcTemplate.queryForObject(LAG_QUERY, Number.class);
+            long lag = lagMillis == null ? 0 : lagMillis.longValue();
+
+            if (lag > properties.getMaxLag().toMillis()) {
+                routingDataSource.markReplicaUnavailable("replication lag " + lag + " ms");
+            } else {
+                routingDataSource.markReplicaAvailable();
+            }
+        } catch (DataAccessException ex) {
+            routingDataSource.markReplicaUnavailable("health check failed: " + ex.getMessage());
+        }
+    }
+}
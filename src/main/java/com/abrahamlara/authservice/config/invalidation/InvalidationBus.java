@@ -0,0 +1,264 @@
+package com.abrahamlara.authservice.config.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasts {@link InvalidationEvent}s to every node through Postgres {@code LISTEN/NOTIFY}.
+ * <p>
+ * {@link #publish} issues {@code pg_notify} inside the caller's transaction, so other nodes only hear about
+ * committed changes, and applies the event locally after commit. Each node keeps one dedicated connection
+ * (outside the pool) listening on the channel. Postgres does not queue notifications for a session that is
+ * not listening, so every time that connection is (re)established all listeners are told to resync.
+ */
+@Component
+@RegisterReflectionForBinding(InvalidationBus.Message.class)
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final DataSourceProperties dataSourceProperties;
+    private final InvalidationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<InvalidationListener> listenerProvider;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter localEvents;
+    private final Counter remoteEvents;
+    private final Counter resyncs;
+
+    private volatile List<InvalidationListener> listeners = List.of();
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Thread listenerThread;
+    private volatile Connection connection;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                           DataSourceProperties dataSourceProperties, InvalidationProperties properties,
+                           ObjectMapper objectMapper, ObjectProvider<InvalidationListener> listenerProvider,
+                           MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.listenerProvider = listenerProvider;
+        this.localEvents = eventCounter(registry, "local");
+        this.remoteEvents = eventCounter(registry, "remote");
+        this.resyncs = Counter.builder("invalidation.resyncs")
+                .description("Full cache resyncs after the listening connection was (re)established")
+                .register(registry);
+        Gauge.builder("invalidation.connected", this, bus -> bus.connected ? 1 : 0)
+                .description("Whether this node is listening for invalidation notifications")
+                .register(registry);
+    }
+
+    /**
+     * Announces a change to all nodes. Inside a transaction the event is only delivered if it commits.
+     */
+    public void publish(InvalidationEvent.Type type, Long userId, String... identifiers) {
+        InvalidationEvent event = new InvalidationEvent(type, userId, List.of(identifiers));
+        String payload = objectMapper.writeValueAsString(new Message(nodeId, event));
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (properties.isEnabled()) {
+                notify(payload);
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event, localEvents);
+                }
+            });
+        } else {
+            if (properties.isEnabled()) {
+                transactionOperations.executeWithoutResult(status -> notify(payload));
+            }
+            dispatch(event, localEvents);
+        }
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query(NOTIFY_SQL, (RowCallbackHandler) rs -> { }, properties.getChannel(), payload);
+    }
+
+    private void dispatch(InvalidationEvent event, Counter counter) {
+        counter.increment();
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException ex) {
+                log.warn("Invalidation listener {} failed on {}: {}", listener.getClass().getSimpleName(), event, ex.getMessage());
+            }
+        }
+    }
+
+    private void resync() {
+        resyncs.increment();
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onResync();
+            } catch (RuntimeException ex) {
+                log.warn("Invalidation listener {} failed to resync: {}", listener.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.afterResync();
+            } catch (RuntimeException ex) {
+                log.warn("Invalidation listener {} failed after resync: {}", listener.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+    }
+
+    private void listen() {
+        long initialBackoff = properties.getReconnectBackoff().toMillis();
+        long backoff = initialBackoff;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = conn;
+                conn.setAutoCommit(true);
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN \"" + properties.getChannel() + "\"");
+                }
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                connected = true;
+                backoff = initialBackoff;
+                log.info("Listening for cache invalidations on channel '{}'", properties.getChannel());
+                // Anything committed while we were not listening is lost
+                resync();
+
+                int waitMillis = (int) properties.getKeepAliveInterval().toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(waitMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        if (!conn.isValid(5)) {
+                            throw new SQLException("Invalidation listener connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                connected = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener disconnected, retrying in {} ms: {}", backoff, ex.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, properties.getMaxReconnectBackoff().toMillis());
+            } finally {
+                connected = false;
+                connection = null;
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (RuntimeException ex) {
+            log.warn("Ignoring malformed invalidation notification: {}", ex.getMessage());
+            return;
+        }
+        // Already applied locally after commit
+        if (!nodeId.equals(message.origin())) {
+            dispatch(message.event(), remoteEvents);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =====================================================================
+    // Lifecycle
+    // =====================================================================
+    @Override
+    public void start() {
+        listeners = listenerProvider.orderedStream().toList();
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::listen, "invalidation-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Connection conn = connection;
+        if (conn != null) {
+            try {
+                // Unblocks getNotifications
+                conn.close();
+            } catch (SQLException ignored) {
+                // Closing anyway
+            }
+        }
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String source) {
+        return Counter.builder("invalidation.events")
+                .description("Invalidation events applied by this node")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    record Message(String origin, InvalidationEvent event) {
+    }
+}
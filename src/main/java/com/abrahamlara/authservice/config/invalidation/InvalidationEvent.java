@@ -0,0 +1,28 @@
+package com.abrahamlara.authservice.config.invalidation;
+
+import java.util.List;
+
+/**
+ * Change that in-process caches of every node must apply.
+ *
+ * @param type        what changed
+ * @param userId      affected user
+ * @param identifiers current username and email of the user, when relevant
+ */
+public record InvalidationEvent(
+        Type type,
+        Long userId,
+        List<String> identifiers
+) {
+
+    public enum Type {
+        // User created or updated: cached user data is stale
+        USER_CHANGED,
+        // User deactivated
+        USER_DELETED,
+        // Tokens issued to the user before now must no longer be accepted
+        TOKENS_REVOKED,
+        // Failed login counter or lock written directly to the database: only cached entities hold them
+        LOCKOUT_CHANGED
+    }
+}
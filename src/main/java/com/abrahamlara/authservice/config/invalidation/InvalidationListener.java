@@ -0,0 +1,21 @@
+package com.abrahamlara.authservice.config.invalidation;
+
+/**
+ * In-process cache kept consistent across nodes by the {@link InvalidationBus}.
+ * Callbacks run on the bus listener thread (or the committing thread for local events) and must be thread-safe.
+ */
+public interface InvalidationListener {
+
+    void onInvalidation(InvalidationEvent event);
+
+    /**
+     * Notifications may have been missed (the node was not listening for a while): drop or reload everything.
+     */
+    void onResync();
+
+    /**
+     * Called once every listener has handled {@link #onResync()}, for work that must not be undone by it.
+     */
+    default void afterResync() {
+    }
+}
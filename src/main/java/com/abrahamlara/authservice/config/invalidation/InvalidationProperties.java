@@ -0,0 +1,25 @@
+package com.abrahamlara.authservice.config.invalidation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "invalidation")
+public class InvalidationProperties {
+    // When disabled, events are still applied on the node that produced them
+    private boolean enabled = true;
+    private String channel = "auth_invalidation";
+    // How often the listening connection is checked while no notification arrives
+    private Duration keepAliveInterval = Duration.ofSeconds(10);
+    private Duration reconnectBackoff = Duration.ofSeconds(1);
+    private Duration maxReconnectBackoff = Duration.ofSeconds(30);
+}
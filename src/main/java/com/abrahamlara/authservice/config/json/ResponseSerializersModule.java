@@ -0,0 +1,235 @@
+package com.abrahamlara.authservice.config.json;
+
+import com.abrahamlara.authservice.auth.dto.AuthResponse;
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import com.abrahamlara.authservice.shared.dto.ProblemDetails;
+import com.abrahamlara.authservice.user.dto.UserProfileResponse;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import org.springframework.data.web.PagedModel;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.util.List;
+
+/**
+ * Hand-written serializers for the API's response bodies, registered with Spring's {@code JsonMapper}.
+ * <p>
+ * Jackson would otherwise serialize these records through reflective bean serializers. These write the fields in
+ * the same order and form, with property names and enum values encoded once up front, so the JSON is unchanged.
+ * {@link PagedModel} is the envelope pages are serialized as ({@code spring.data.web.pageable.serialization-mode=via-dto}).
+ */
+@Component
+public class ResponseSerializersModule extends SimpleModule {
+
+    private static final SerializedString ACCESS_TOKEN = new SerializedString("accessToken");
+    private static final SerializedString REFRESH_TOKEN = new SerializedString("refreshToken");
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ROLE = new SerializedString("role");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DETAIL = new SerializedString("detail");
+    private static final SerializedString INSTANCE = new SerializedString("instance");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString NUMBER = new SerializedString("number");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+
+    // Enum values by ordinal, written as their names like Jackson's default enum serializer
+    private static final SerializedString[] ROLES = names(Role.values());
+    private static final SerializedString[] STATUSES = names(UserStatus.values());
+    private static final SerializedString[] CODES = names(ErrorCode.values());
+
+    public ResponseSerializersModule() {
+        super("ResponseSerializers");
+        addSerializer(AuthResponse.class, new AuthResponseSerializer());
+        addSerializer(UserResponse.class, new UserResponseSerializer());
+        addSerializer(UserProfileResponse.class, new UserProfileResponseSerializer());
+        addSerializer(ProblemDetails.class, new ProblemDetailsSerializer());
+        addSerializer(PagedModel.class, new PagedModelSerializer());
+    }
+
+    private static SerializedString[] names(Enum<?>[] values) {
+        SerializedString[] names = new SerializedString[values.length];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = new SerializedString(value.name());
+        }
+        return names;
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeEnum(JsonGenerator gen, SerializableString name, Enum<?> value, SerializableString[] names) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(names[value.ordinal()]);
+        }
+    }
+
+    static final class AuthResponseSerializer extends StdSerializer<AuthResponse> {
+
+        AuthResponseSerializer() {
+            super(AuthResponse.class);
+        }
+
+        @Override
+        public void serialize(AuthResponse value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value, 2);
+            writeString(gen, ACCESS_TOKEN, value.accessToken());
+            writeString(gen, REFRESH_TOKEN, value.refreshToken());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class UserResponseSerializer extends StdSerializer<UserResponse> {
+
+        UserResponseSerializer() {
+            super(UserResponse.class);
+        }
+
+        @Override
+        public void serialize(UserResponse value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value, 5);
+            gen.writeName(ID);
+            if (value.id() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.id());
+            }
+            writeString(gen, USERNAME, value.username());
+            writeString(gen, EMAIL, value.email());
+            writeEnum(gen, ROLE, value.role(), ROLES);
+            writeEnum(gen, STATUS, value.status(), STATUSES);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class UserProfileResponseSerializer extends StdSerializer<UserProfileResponse> {
+
+        UserProfileResponseSerializer() {
+            super(UserProfileResponse.class);
+        }
+
+        @Override
+        public void serialize(UserProfileResponse value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value, 4);
+            writeString(gen, USERNAME, value.username());
+            writeString(gen, EMAIL, value.email());
+            writeString(gen, ROLE, value.role());
+            writeString(gen, STATUS, value.status());
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Null fields are left out, as {@code @JsonInclude(NON_NULL)} on {@link ProblemDetails} asks.
+     */
+    static final class ProblemDetailsSerializer extends StdSerializer<ProblemDetails> {
+
+        ProblemDetailsSerializer() {
+            super(ProblemDetails.class);
+        }
+
+        @Override
+        public void serialize(ProblemDetails value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value);
+            if (value.type() != null) {
+                writeString(gen, TYPE, value.type());
+            }
+            if (value.title() != null) {
+                writeString(gen, TITLE, value.title());
+            }
+            gen.writeName(STATUS);
+            gen.writeNumber(value.status());
+            if (value.detail() != null) {
+                writeString(gen, DETAIL, value.detail());
+            }
+            if (value.instance() != null) {
+                writeString(gen, INSTANCE, value.instance());
+            }
+            if (value.timestamp() != null) {
+                // ISO-8601, as Jackson's Instant serializer writes it when dates are not timestamps
+                writeString(gen, TIMESTAMP, value.timestamp().toString());
+            }
+            if (value.code() != null) {
+                writeEnum(gen, CODE, value.code(), CODES);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes {@code {"content": [...], "page": {"size", "number", "totalElements", "totalPages"}}}. Elements go
+     * through their own serializers, looked up once per element type.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class PagedModelSerializer extends StdSerializer<PagedModel> {
+
+        PagedModelSerializer() {
+            super(PagedModel.class);
+        }
+
+        @Override
+        public void serialize(PagedModel value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value, 2);
+            gen.writeName(CONTENT);
+            List<?> content = value.getContent();
+            gen.writeStartArray(content, content.size());
+            Class<?> elementType = null;
+            ValueSerializer<Object> serializer = null;
+            for (Object element : content) {
+                if (element == null) {
+                    gen.writeNull();
+                    continue;
+                }
+                if (element.getClass() != elementType) {
+                    elementType = element.getClass();
+                    serializer = ctxt.findValueSerializer(elementType);
+                }
+                serializer.serialize(element, gen, ctxt);
+            }
+            gen.writeEndArray();
+
+            gen.writeName(PAGE);
+            PagedModel.PageMetadata page = value.getMetadata();
+            if (page == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartObject(page, 4);
+                gen.writeName(SIZE);
+                gen.writeNumber(page.size());
+                gen.writeName(NUMBER);
+                gen.writeNumber(page.number());
+                gen.writeName(TOTAL_ELEMENTS);
+                gen.writeNumber(page.totalElements());
+                gen.writeName(TOTAL_PAGES);
+                gen.writeNumber(page.totalPages());
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.abrahamlara.authservice.config.metrics;
+
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Central registry of the meters recorded on the authentication hot paths.
+ * <p>
+ * All meters are registered once at startup so recording is a plain field access
+ * instead of a registry lookup per request. Percentile histograms for every {@code auth.*}
+ * meter are enabled through {@code management.metrics.distribution.percentiles-histogram.auth}.
+ */
+@Component
+public class AuthMetrics {
+
+    /**
+     * Possible results of the JWT filter for a single request.
+     */
+    public enum TokenOutcome {
+        MISSING,
+        INVALID,
+        EXPIRED,
+        WRONG_TYPE,
+        REVOKED,
+        ACCEPTED
+    }
+
+    private final Timer tokenSign;
+    private final Timer tokenVerify;
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+    private final Timer passwordMatches;
+    private final Timer passwordEncode;
+    private final Timer userLookupFound;
+    private final Timer userLookupMissing;
+    private final Counter userLookupSkipped;
+    private final Counter userLookupCoalesced;
+    private final Map<TokenOutcome, Counter> filterOutcomes = new EnumMap<>(TokenOutcome.class);
+    private final Map<ErrorCode, Counter> errors = new EnumMap<>(ErrorCode.class);
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.tokenSign = Timer.builder("auth.jwt.sign")
+                .description("Time spent building and signing a JWT")
+                .register(registry);
+        this.tokenVerify = Timer.builder("auth.jwt.verify")
+                .description("Time spent parsing and verifying a JWT")
+                .register(registry);
+
+        this.loginSuccess = loginTimer(registry, "success");
+        this.loginFailure = loginTimer(registry, "failure");
+
+        this.passwordMatches = passwordTimer(registry, "matches");
+        this.passwordEncode = passwordTimer(registry, "encode");
+
+        this.userLookupFound = userLookupTimer(registry, "found");
+        this.userLookupMissing = userLookupTimer(registry, "not_found");
+        this.userLookupSkipped = Counter.builder("auth.user.lookup.skipped")
+                .description("Lookups of unknown identifiers rejected by the known identifier filter without a query")
+                .register(registry);
+        this.userLookupCoalesced = Counter.builder("auth.user.lookup.coalesced")
+                .description("Lookups served by an identical lookup already running instead of their own query")
+                .register(registry);
+
+        for (TokenOutcome outcome : TokenOutcome.values()) {
+            filterOutcomes.put(outcome, Counter.builder("auth.filter.requests")
+                    .description("Requests seen by the JWT authentication filter by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        for (ErrorCode code : ErrorCode.values()) {
+            errors.put(code, Counter.builder("auth.errors")
+                    .description("Error responses produced by the global exception handler")
+                    .tag("code", code.name())
+                    .register(registry));
+        }
+    }
+
+    public Timer tokenSign() { return tokenSign; }
+    public Timer tokenVerify() { return tokenVerify; }
+    public Timer loginSuccess() { return loginSuccess; }
+    public Timer loginFailure() { return loginFailure; }
+    public Timer passwordMatches() { return passwordMatches; }
+    public Timer passwordEncode() { return passwordEncode; }
+
+    public Timer userLookup(boolean found) {
+        return found ? userLookupFound : userLookupMissing;
+    }
+
+    public Counter userLookupSkipped() { return userLookupSkipped; }
+    public Counter userLookupCoalesced() { return userLookupCoalesced; }
+
+    public void recordFilterOutcome(TokenOutcome outcome) {
+        filterOutcomes.get(outcome).increment();
+    }
+
+    public void recordError(ErrorCode code) {
+        errors.get(code).increment();
+    }
+
+    private static Timer loginTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.login")
+                .description("End-to-end login duration, including password hashing and token issuance")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Timer passwordTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("Time spent in the BCrypt password encoder")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static Timer userLookupTimer(MeterRegistry registry, String result) {
+        return Timer.builder("auth.user.lookup")
+                .description("Database lookups performed by the UserDetailsService")
+                .tag("result", result)
+                .register(registry);
+    }
+}
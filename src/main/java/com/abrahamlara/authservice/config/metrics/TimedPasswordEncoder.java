@@ -0,0 +1,30 @@
+package com.abrahamlara.authservice.config.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder decorator that records hashing time separately from the rest of the login flow.
+ */
+@RequiredArgsConstructor
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AuthMetrics metrics;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return metrics.passwordEncode().record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = metrics.passwordMatches().record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -15,6 +15,11 @@ public final class SecurityEndpoints {
             "/actuator/health"
     };
 
+    // Remaining actuator endpoints (metrics, prometheus, ...) are restricted to administrators
+    public static final String[] ACTUATOR = {
+            "/actuator/**"
+    };
+
     public static final String[] SWAGGER = {
             "/swagger-ui/**",
             "/swagger-ui.html",
@@ -0,0 +1,49 @@
+package com.abrahamlara.authservice.config.security;
+
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * {@link CorsConfiguration} that checks the request origin against a hash set built once from the configured
+ * origins, instead of comparing it with every allowed origin on each request. Origins are compared
+ * case-insensitively and without a trailing slash, as {@link CorsConfiguration} does.
+ */
+class OriginSetCorsConfiguration extends CorsConfiguration {
+
+    private final Set<String> origins = new HashSet<>();
+
+    /**
+     * @param origins comma separated origins, e.g. {@code https://app.example.com,https://admin.example.com}
+     */
+    OriginSetCorsConfiguration(String origins) {
+        List<String> allowed = new ArrayList<>();
+        for (String origin : origins.split(",")) {
+            String trimmed = trimTrailingSlash(origin.trim());
+            if (!trimmed.isEmpty()) {
+                allowed.add(trimmed);
+                this.origins.add(trimmed.toLowerCase(Locale.ROOT));
+            }
+        }
+        if (this.origins.contains(ALL)) {
+            throw new IllegalArgumentException("Wildcard origins are not supported, list the allowed origins");
+        }
+        setAllowedOrigins(allowed);
+    }
+
+    @Override
+    public String checkOrigin(String origin) {
+        if (origin == null || origin.isEmpty()) {
+            return null;
+        }
+        return origins.contains(trimTrailingSlash(origin).toLowerCase(Locale.ROOT)) ? origin : null;
+    }
+
+    private static String trimTrailingSlash(String origin) {
+        return origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin;
+    }
+}
@@ -0,0 +1,73 @@
+package com.abrahamlara.authservice.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The endpoint groups of {@link com.abrahamlara.authservice.config.properties.SecurityEndpoints} compiled into a
+ * hash set of exact paths and a short list of {@code /**} prefixes, so classifying a request is a hash lookup plus a
+ * few {@code startsWith} calls instead of a pass over the path pattern matchers.
+ * <p>
+ * Only exact paths and a trailing {@code /**} are supported. Like the path pattern, {@code /a/**} also matches
+ * {@code /a}. Paths are compared undecoded, so an encoded variant of a listed path does not match.
+ */
+public final class PathLookup {
+
+    private static final String ANY_SUFFIX = "/**";
+
+    private final Set<String> exact = new HashSet<>();
+    private final String[] prefixes;
+
+    private PathLookup(String[]... groups) {
+        List<String> prefixList = new ArrayList<>();
+        for (String[] group : groups) {
+            for (String pattern : group) {
+                if (pattern.endsWith(ANY_SUFFIX)) {
+                    String base = pattern.substring(0, pattern.length() - ANY_SUFFIX.length());
+                    requireLiteral(base, pattern);
+                    prefixList.add(base);
+                } else {
+                    requireLiteral(pattern, pattern);
+                    exact.add(pattern);
+                }
+            }
+        }
+        this.prefixes = prefixList.toArray(String[]::new);
+    }
+
+    public static PathLookup of(String[]... groups) {
+        return new PathLookup(groups);
+    }
+
+    private static void requireLiteral(String path, String pattern) {
+        if (path.indexOf('*') >= 0 || path.indexOf('{') >= 0 || path.indexOf('?') >= 0) {
+            throw new IllegalArgumentException("Unsupported path pattern: " + pattern);
+        }
+    }
+
+    /**
+     * @param path request path within the application, without the context path
+     */
+    public boolean matches(String path) {
+        if (exact.contains(path)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return matches(contextPath.isEmpty() ? path : path.substring(contextPath.length()));
+    }
+}
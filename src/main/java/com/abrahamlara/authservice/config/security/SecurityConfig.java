@@ -2,6 +2,11 @@ package com.abrahamlara.authservice.config.security;
 
 import com.abrahamlara.authservice.auth.config.jwt.JwtAuthenticationFilter;
 import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.config.revocation.TokenVersionRegistry;
+import com.abrahamlara.authservice.auth.config.throttle.LoginThrottle;
+import com.abrahamlara.authservice.auth.config.throttle.LoginThrottleFilter;
+import com.abrahamlara.authservice.auth.config.throttle.LoginThrottleProperties;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
 import com.abrahamlara.authservice.config.properties.SecurityEndpoints;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +26,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import tools.jackson.databind.ObjectMapper;
 
 import java.time.Duration;
 import java.util.List;
@@ -47,23 +54,34 @@ public class SecurityConfig {
      * Custom JWT filter that extracts and validates tokens on each request.
      */
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService , UserDetailsService userDetailsService) {
-        return new JwtAuthenticationFilter(jwtService, userDetailsService);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService , UserDetailsService userDetailsService, AuthMetrics metrics,
+                                                           TokenVersionRegistry tokenVersions) {
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, metrics, tokenVersions);
+    }
+
+    /**
+     * Throttles login attempts per client IP and per identifier before authentication runs.
+     */
+    @Bean
+    public LoginThrottleFilter loginThrottleFilter(LoginThrottle loginThrottle, LoginThrottleProperties properties,
+                                                   ObjectMapper objectMapper, AuthMetrics metrics) {
+        return new LoginThrottleFilter(loginThrottle, properties, objectMapper, metrics);
     }
 
     /**
      * Enables CORS for the frontend or other services that consume this API.
+     * Allowed origins are matched through a hash set; preflight results are cached by the browser for
+     * {@code security.cors.max-age} (browsers cap it, Chromium at two hours).
      */
     @Bean
-    public CorsConfigurationSource corsConfigurationSource(){
-        var configuration = new org.springframework.web.cors.CorsConfiguration();
-        configuration.setAllowedOrigins(java.util.List.of(clientOrigins.split(",")));
-        configuration.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+    public CorsConfigurationSource corsConfigurationSource(@Value("${security.cors.max-age:2h}") Duration maxAge){
+        var configuration = new OriginSetCorsConfiguration(clientOrigins);
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("Content-Type", "Authorization", "*"));
-        configuration.setExposedHeaders(java.util.List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization"));
         configuration.setAllowCredentials(true);
-        configuration.setMaxAge(Duration.ofHours(1));
-        var source = new org.springframework.web.cors.UrlBasedCorsConfigurationSource();
+        configuration.setMaxAge(maxAge);
+        var source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
@@ -72,19 +90,23 @@ public class SecurityConfig {
      * Main Spring Security entry point.
      * - Stateless because JWT is used instead of sessions
      * - Applies public vs. secured endpoint rules
-     * - Registers the JWT authentication filter
+     * - Registers the login throttle and JWT authentication filters
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter,
+                                                   LoginThrottleFilter loginThrottleFilter) {
         http
                 // Register JWT filter before username/password auth filter
                 .addFilterBefore(jwtAuthenticationFilter , UsernamePasswordAuthenticationFilter.class)
+                // Reject throttled login attempts before any other work
+                .addFilterBefore(loginThrottleFilter, JwtAuthenticationFilter.class)
                 // No HTTP session stored on the server
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // Routing rules: allow public endpoints, secure everything else
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(SecurityEndpoints.PUBLIC).permitAll()
                         .requestMatchers(SecurityEndpoints.MONITORING).permitAll()
+                        .requestMatchers(SecurityEndpoints.ACTUATOR).hasRole("ADMIN")
                         .requestMatchers(SecurityEndpoints.SWAGGER).permitAll()
                         .anyRequest().authenticated()
                 )
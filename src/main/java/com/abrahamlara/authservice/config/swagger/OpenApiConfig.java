@@ -6,11 +6,13 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Configuration class for OpenAPI (Swagger) documentation.
  */
 @Configuration
+@ImportRuntimeHints(OpenApiRuntimeHints.class)
 public class OpenApiConfig {
 
     @Bean
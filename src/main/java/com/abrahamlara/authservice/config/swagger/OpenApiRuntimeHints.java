@@ -0,0 +1,17 @@
+package com.abrahamlara.authservice.config.swagger;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native image metadata for Swagger UI. springdoc registers its own model types; the UI assets under
+ * {@code META-INF/resources} are covered by Spring Boot, but the webjar version they are served under is read
+ * from the webjar's Maven metadata.
+ */
+class OpenApiRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+    }
+}
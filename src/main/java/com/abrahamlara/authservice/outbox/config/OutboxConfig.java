@@ -0,0 +1,32 @@
+package com.abrahamlara.authservice.outbox.config;
+
+import com.abrahamlara.authservice.outbox.model.OutboxMessage;
+import com.abrahamlara.authservice.outbox.service.InMemoryOutboxSink;
+import com.abrahamlara.authservice.outbox.service.OutboxSink;
+import com.abrahamlara.authservice.outbox.service.WebhookOutboxSink;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Selects the outbox sink with {@code outbox.sink}. Nothing is created unless {@code outbox.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+@RegisterReflectionForBinding(OutboxMessage.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "webhook", matchIfMissing = true)
+    public OutboxSink webhookOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new WebhookOutboxSink(properties.getWebhook(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "memory")
+    public OutboxSink inMemoryOutboxSink(OutboxProperties properties) {
+        return new InMemoryOutboxSink(properties.getMemory().getCapacity());
+    }
+}
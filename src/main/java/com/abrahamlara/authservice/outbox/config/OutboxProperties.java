@@ -0,0 +1,47 @@
+package com.abrahamlara.authservice.outbox.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Transactional outbox of user change events and the relay publishing them.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    public enum Sink {
+        WEBHOOK,
+        MEMORY
+    }
+
+    private boolean enabled = false;
+    private Sink sink = Sink.WEBHOOK;
+    // Events published per sink call
+    private int batchSize = 100;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Webhook webhook = new Webhook();
+    private Memory memory = new Memory();
+
+    @Getter
+    @Setter
+    public static class Webhook {
+        private String url;
+        private Duration timeout = Duration.ofSeconds(5);
+        // Optional shared secret; when set every request carries an HMAC-SHA256 signature of its body
+        private String secret;
+    }
+
+    @Getter
+    @Setter
+    public static class Memory {
+        // Most recent events kept by the in-memory sink
+        private int capacity = 1000;
+    }
+}
@@ -0,0 +1,41 @@
+package com.abrahamlara.authservice.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Pending change event, written in the same transaction as the change itself
+ * and deleted by the relay once the sink has accepted it.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    // Monotonic per aggregate: consumers order and deduplicate by it
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    // JSON snapshot of the aggregate after the change
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
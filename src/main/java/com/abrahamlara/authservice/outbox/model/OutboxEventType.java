@@ -0,0 +1,10 @@
+package com.abrahamlara.authservice.outbox.model;
+
+/**
+ * Kinds of change published through the outbox.
+ */
+public enum OutboxEventType {
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED
+}
@@ -0,0 +1,23 @@
+package com.abrahamlara.authservice.outbox.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * Outbox event as handed to a sink.
+ *
+ * @param id          outbox sequence number, increasing for the changes of one user
+ * @param type        kind of change
+ * @param aggregateId id of the changed user
+ * @param occurredAt  when the change was made
+ * @param payload     JSON state of the user after the change, embedded as is
+ */
+public record OutboxMessage(
+        long id,
+        OutboxEventType type,
+        long aggregateId,
+        Instant occurredAt,
+        @JsonRawValue String payload
+) {
+}
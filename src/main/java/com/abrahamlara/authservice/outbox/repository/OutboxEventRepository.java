@@ -0,0 +1,9 @@
+package com.abrahamlara.authservice.outbox.repository;
+
+import com.abrahamlara.authservice.outbox.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
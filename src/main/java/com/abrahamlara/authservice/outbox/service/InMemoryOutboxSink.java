@@ -0,0 +1,38 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.model.OutboxMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent published events in memory. Stand-in for a real consumer in tests and local runs.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /**
+     * @return published events, oldest first
+     */
+    public synchronized List<OutboxMessage> published() {
+        return new ArrayList<>(messages);
+    }
+}
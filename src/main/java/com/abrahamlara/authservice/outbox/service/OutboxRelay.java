@@ -0,0 +1,140 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.config.OutboxProperties;
+import com.abrahamlara.authservice.outbox.model.OutboxEventType;
+import com.abrahamlara.authservice.outbox.model.OutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publishes pending outbox events to the {@link OutboxSink} in batches.
+ * <p>
+ * The relay drains the outbox while holding {@link OutboxRelayLock}, so only one instance relays at a time and
+ * events leave in id order. Changes of one user therefore arrive in the order they were committed. Each batch is
+ * read, published and then deleted in separate statements: no transaction or pooled connection stays open while
+ * the sink is called. A failed publish deletes nothing and the same batch is retried on the next poll.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_SQL =
+            "SELECT id, event_type, aggregate_id, created_at, payload FROM outbox_events ORDER BY id LIMIT ?";
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ANY (?)";
+
+    private static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            OutboxEventType.valueOf(rs.getString("event_type")),
+            rs.getLong("aggregate_id"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getString("payload"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxRelayLock lock;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+
+    private final Counter published;
+    private final Counter failed;
+    private final Timer lag;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, OutboxRelayLock lock, OutboxSink sink,
+                       OutboxProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lock = lock;
+        this.sink = sink;
+        this.properties = properties;
+        this.published = Counter.builder("outbox.events")
+                .description("Outbox events by publish outcome")
+                .tag("outcome", "published")
+                .register(registry);
+        this.failed = Counter.builder("outbox.events")
+                .description("Outbox events by publish outcome")
+                .tag("outcome", "failed")
+                .register(registry);
+        this.lag = Timer.builder("outbox.lag")
+                .description("Time between a change and the publication of its event")
+                .register(registry);
+    }
+
+    /**
+     * Drains the outbox, one batch at a time, until it is empty or a batch fails. Does nothing if another
+     * instance holds the relay lock.
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:1s}")
+    public void relay() {
+        if (!lock.tryAcquire()) {
+            return;
+        }
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == properties.getBatchSize());
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Must only be called while holding the relay lock.
+     *
+     * @return number of events published, {@code 0} if there was nothing to do or the batch failed
+     */
+    int relayBatch() {
+        List<OutboxMessage> batch;
+        try {
+            batch = jdbcTemplate.query(SELECT_SQL, MESSAGE_MAPPER, properties.getBatchSize());
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay failed: {}", ex.getMessage());
+            return 0;
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.publish(batch);
+        } catch (Exception ex) {
+            failed.increment(batch.size());
+            log.warn("Failed to publish {} outbox events, will retry: {}", batch.size(), ex.toString());
+            return 0;
+        }
+
+        Long[] ids = batch.stream().map(OutboxMessage::id).toArray(Long[]::new);
+        try {
+            jdbcTemplate.update(con -> {
+                var ps = con.prepareStatement(DELETE_SQL);
+                Array array = con.createArrayOf("bigint", ids);
+                ps.setArray(1, array);
+                return ps;
+            });
+        } catch (RuntimeException ex) {
+            // Published but still in the outbox: the batch goes out again, which sinks must tolerate
+            log.warn("Failed to delete {} published outbox events, they will be redelivered: {}", ids.length, ex.getMessage());
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        for (OutboxMessage message : batch) {
+            lag.record(Duration.between(message.occurredAt(), now));
+        }
+        published.increment(batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Session-level Postgres advisory lock electing the single instance that relays the outbox.
+ * <p>
+ * The lock lives on a dedicated connection outside the pool, so it can be held while a batch is published
+ * without tying up a pooled connection. If the connection drops, Postgres releases the lock with the session
+ * and the next {@link #tryAcquire()} reconnects.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxRelayLock {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelayLock.class);
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    private static final long RELAY_LOCK_KEY = 0x6F7574626F78L;
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_lock(?)";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(?)";
+
+    private final DataSourceProperties dataSourceProperties;
+
+    // Only used from the relay's scheduler thread
+    private Connection connection;
+
+    public OutboxRelayLock(DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * @return whether this instance now holds the lock; {@code false} if another instance does or the
+     * database cannot be reached
+     */
+    public boolean tryAcquire() {
+        try {
+            if (connection == null || !connection.isValid(5)) {
+                close();
+                connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                connection.setAutoCommit(true);
+            }
+            return query(LOCK_SQL);
+        } catch (SQLException ex) {
+            log.warn("Could not acquire the outbox relay lock: {}", ex.getMessage());
+            close();
+            return false;
+        }
+    }
+
+    public void release() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            query(UNLOCK_SQL);
+        } catch (SQLException ex) {
+            // Closing the session releases the lock as well
+            log.warn("Could not release the outbox relay lock, closing its connection: {}", ex.getMessage());
+            close();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.debug("Failed to close the outbox relay lock connection: {}", ex.getMessage());
+        }
+        connection = null;
+    }
+
+    private boolean query(String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, RELAY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.config.OutboxProperties;
+import com.abrahamlara.authservice.outbox.model.OutboxEvent;
+import com.abrahamlara.authservice.outbox.model.OutboxEventType;
+import com.abrahamlara.authservice.outbox.repository.OutboxEventRepository;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+
+/**
+ * Writes change events to the outbox table. Must be called inside the transaction making the change,
+ * so the event is stored if and only if the change commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param user state of the user after the change, in the same shape as the users API returns it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userChanged(OutboxEventType type, UserResponse user) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(user.id())
+                .payload(objectMapper.writeValueAsString(user))
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,16 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of outbox events.
+ * <p>
+ * A batch is ordered by id. It is deleted from the outbox only if {@link #publish} returns normally;
+ * on an exception the whole batch is retried later, so sinks must tolerate redelivery.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,67 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.config.OutboxProperties;
+import com.abrahamlara.authservice.outbox.model.OutboxMessage;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * POSTs each batch as one JSON array to the configured URL. Any non-2xx answer fails the batch.
+ * With a secret configured the body is signed in {@code X-Outbox-Signature: sha256=<hex HMAC>}.
+ */
+public class WebhookOutboxSink implements OutboxSink {
+
+    private static final String SIGNATURE_HEADER = "X-Outbox-Signature";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI uri;
+    private final Duration timeout;
+    private final SecretKeySpec signingKey;
+
+    public WebhookOutboxSink(OutboxProperties.Webhook properties, ObjectMapper objectMapper) {
+        if (properties.getUrl() == null || properties.getUrl().isBlank()) {
+            throw new IllegalStateException("outbox.webhook.url must be set when outbox.sink=webhook");
+        }
+        this.objectMapper = objectMapper;
+        this.uri = URI.create(properties.getUrl());
+        this.timeout = properties.getTimeout();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.signingKey = properties.getSecret() == null || properties.getSecret().isBlank()
+                ? null
+                : new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) throws IOException, InterruptedException, GeneralSecurityException {
+        byte[] body = objectMapper.writeValueAsBytes(batch);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (signingKey != null) {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            request.header(SIGNATURE_HEADER, "sha256=" + HexFormat.of().formatHex(mac.doFinal(body)));
+        }
+
+        HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + uri + " answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.abrahamlara.authservice.shared.collections;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from {@code long} to {@code long} without boxing: keys and values sit side by side in one
+ * open-addressing {@code long[]} per segment, 16 bytes per slot at a load factor of at most one half,
+ * against roughly 80 bytes per entry for a {@code ConcurrentHashMap<Long, Long>}.
+ * <p>
+ * Reads are optimistic and take no lock unless they race with a write to the same segment.
+ * {@link Long#MIN_VALUE} is reserved as the empty-slot marker and cannot be used as a key.
+ */
+public class ConcurrentLongLongMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int SEGMENTS = 16;
+    private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int initialSegmentCapacity;
+
+    public ConcurrentLongLongMap() {
+        this(1024);
+    }
+
+    public ConcurrentLongLongMap(int expectedSize) {
+        int perSegment = Math.max(expectedSize / SEGMENTS, 1) * 2;
+        this.initialSegmentCapacity = Math.max(Integer.highestOneBit(perSegment - 1) << 1, 8);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(initialSegmentCapacity);
+        }
+    }
+
+    /**
+     * @return the value mapped to {@code key}, or {@code defaultValue} if there is none
+     */
+    public long get(long key, long defaultValue) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.tryOptimisticRead();
+        long value = segment.find(key, hash, defaultValue);
+        if (!segment.validate(stamp)) {
+            stamp = segment.readLock();
+            try {
+                value = segment.find(key, hash, defaultValue);
+            } finally {
+                segment.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    public void put(long key, long value) {
+        checkKey(key);
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            segment.put(key, hash, value);
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.writeLock();
+        try {
+            segment.remove(key, hash);
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            long stamp = segment.writeLock();
+            try {
+                segment.reset(initialSegmentCapacity);
+            } finally {
+                segment.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Approximate while writes are in progress.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Visits every entry, locking one segment at a time: writes to other segments are not blocked, so the
+     * result is not a point-in-time view of the whole map.
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (Segment segment : segments) {
+            long stamp = segment.readLock();
+            try {
+                long[] t = segment.table;
+                for (int i = 0; i < t.length; i += 2) {
+                    if (t[i] != EMPTY) {
+                        consumer.accept(t[i], t[i + 1]);
+                    }
+                }
+            } finally {
+                segment.unlockRead(stamp);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> SEGMENT_SHIFT];
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE cannot be used as a key");
+        }
+    }
+
+    private static int hash(long key) {
+        // murmur3 fmix64: sequential ids would otherwise cluster in the table
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static final class Segment extends StampedLock {
+
+        // Interleaved key/value pairs, so a racing reader always sees one consistent array
+        private volatile long[] table;
+        private volatile int size;
+
+        Segment(int capacity) {
+            reset(capacity);
+        }
+
+        void reset(int capacity) {
+            long[] fresh = new long[capacity * 2];
+            for (int i = 0; i < fresh.length; i += 2) {
+                fresh[i] = EMPTY;
+            }
+            table = fresh;
+            size = 0;
+        }
+
+        long find(long key, int hash, long defaultValue) {
+            long[] t = table;
+            int capacity = t.length >> 1;
+            int mask = capacity - 1;
+            // Bounded so a read racing with a write cannot loop forever; the stamp check discards it anyway
+            for (int i = 0, slot = hash & mask; i < capacity; i++, slot = (slot + 1) & mask) {
+                long k = t[slot << 1];
+                if (k == key) {
+                    return t[(slot << 1) + 1];
+                }
+                if (k == EMPTY) {
+                    return defaultValue;
+                }
+            }
+            return defaultValue;
+        }
+
+        void put(long key, int hash, long value) {
+            long[] t = table;
+            int mask = (t.length >> 1) - 1;
+            int slot = hash & mask;
+            while (t[slot << 1] != EMPTY && t[slot << 1] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (t[slot << 1] == EMPTY) {
+                if ((size + 1) * 2 > t.length >> 1) {
+                    resize(t);
+                    put(key, hash, value);
+                    return;
+                }
+                t[slot << 1] = key;
+                size = size + 1;
+            }
+            t[(slot << 1) + 1] = value;
+        }
+
+        void remove(long key, int hash) {
+            long[] t = table;
+            int mask = (t.length >> 1) - 1;
+            int slot = hash & mask;
+            while (t[slot << 1] != key) {
+                if (t[slot << 1] == EMPTY) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Backward-shift deletion keeps probe chains intact without tombstones
+            int hole = slot;
+            for (int next = (hole + 1) & mask; t[next << 1] != EMPTY; next = (next + 1) & mask) {
+                int home = hash(t[next << 1]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    t[hole << 1] = t[next << 1];
+                    t[(hole << 1) + 1] = t[(next << 1) + 1];
+                    hole = next;
+                }
+            }
+            t[hole << 1] = EMPTY;
+            size = size - 1;
+        }
+
+        private void resize(long[] old) {
+            reset(old.length);
+            for (int i = 0; i < old.length; i += 2) {
+                if (old[i] != EMPTY) {
+                    put(old[i], hash(old[i]), old[i + 1]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.abrahamlara.authservice.shared.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the loader on its own thread,
+ * callers arriving while it runs wait for its result (or exception) instead of loading again.
+ * <p>
+ * Nothing is kept once the load finishes, so this is not a cache; put one in front of it if results should be
+ * reused afterwards. Results are shared between threads and should be immutable or treated as read-only.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    private final Counter shared;
+
+    /**
+     * @param timeout how long a waiting caller waits for the running load before giving up
+     * @param shared  incremented for every caller served by another caller's load
+     */
+    public SingleFlight(Duration timeout, Counter shared) {
+        this.timeoutNanos = timeout.toNanos();
+        this.shared = shared;
+    }
+
+    /**
+     * @return the result of the load running for this key, or of a new one run by the calling thread
+     * @throws SingleFlightTimeoutException if the running load does not finish within the timeout
+     */
+    public V execute(K key, Supplier<? extends V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            shared.increment();
+            return await(key, running);
+        }
+
+        try {
+            V value = loader.get();
+            // Removed before completing, so callers arriving from now on start a fresh load
+            inFlight.remove(key, call);
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Lets callers arriving from now on start a fresh load instead of joining the running one,
+     * for when the data it is reading has just changed. Callers already waiting still get its result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private V await(K key, CompletableFuture<V> running) {
+        try {
+            return running.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // The loader's own exception, rethrown in this thread
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new SingleFlightTimeoutException("Timed out waiting for the load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SingleFlightTimeoutException("Interrupted while waiting for the load of " + key);
+        }
+    }
+}
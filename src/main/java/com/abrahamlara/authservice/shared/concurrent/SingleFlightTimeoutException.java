@@ -0,0 +1,10 @@
+package com.abrahamlara.authservice.shared.concurrent;
+
+/**
+ * Thrown to a caller of {@link SingleFlight} that stopped waiting for another caller's load.
+ */
+public class SingleFlightTimeoutException extends RuntimeException {
+    public SingleFlightTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,10 @@ public enum ErrorCode {
     RESOURCE_NOT_FOUND,
     DUPLICATE_RESOURCE,
     INVALID_CREDENTIALS,
+    ACCOUNT_LOCKED,
+    ACCOUNT_DISABLED,
+    TOO_MANY_REQUESTS,
+    CONTENT_TOO_LARGE,
     VALIDATION_ERROR,
     JSON_PARSE_ERROR,
     INTERNAL_ERROR
@@ -4,18 +4,19 @@ import org.springframework.http.HttpStatus;
 
 /**
  * Exception thrown when a provided token is invalid or cannot be used.
+ * An expected outcome answered from a problem template, so no stack trace is captured.
  */
 public class InvalidTokenException extends RuntimeException {
 
     private final HttpStatus status;
 
     public InvalidTokenException(String message) {
-        super(message);
+        super(message, null, false, false);
         this.status = HttpStatus.UNAUTHORIZED; // 401 by default
     }
 
     public InvalidTokenException(String message, HttpStatus status) {
-        super(message);
+        super(message, null, false, false);
         this.status = status;
     }
 
@@ -0,0 +1,10 @@
+package com.abrahamlara.authservice.shared.dto;
+
+/**
+ * Response body together with the identity and version of the entity it was built from, used to derive ETags.
+ */
+public record Versioned<T>(
+        Long id,
+        long version,
+        T body
+) {}
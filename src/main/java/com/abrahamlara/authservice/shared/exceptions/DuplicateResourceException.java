@@ -1,7 +1,10 @@
 package com.abrahamlara.authservice.shared.exceptions;
 
+/**
+ * Thrown when a resource would violate a uniqueness rule. Expected and answered from a problem template, so no stack trace is captured.
+ */
 public class DuplicateResourceException extends RuntimeException {
     public DuplicateResourceException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
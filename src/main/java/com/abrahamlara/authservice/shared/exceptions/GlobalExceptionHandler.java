@@ -1,43 +1,48 @@
 package com.abrahamlara.authservice.shared.exceptions;
 
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import com.abrahamlara.authservice.audit.service.AuditService;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
 import com.abrahamlara.authservice.shared.dto.ErrorCode;
 import com.abrahamlara.authservice.shared.dto.InvalidTokenException;
 import com.abrahamlara.authservice.shared.dto.ProblemDetails;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.time.Instant;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final AuthMetrics metrics;
+    private final AuditService auditService;
+
     /**
-     * Utility to build ProblemDetails RFC 7807
+     * Utility to build ProblemDetails RFC 7807 from the template of the code. Every error response is counted
+     * under {@code auth.errors}.
+     *
+     * @param detail null for the template's default detail
      */
-    private ProblemDetails buildProblem(String type, HttpStatus status, String detail, HttpServletRequest request, ErrorCode code) {
-        return new ProblemDetails(
-                type,
-                status.getReasonPhrase(),
-                status.value(),
-                detail,
-                request.getRequestURI(),
-                Instant.now(),
-                code
-        );
+    private ResponseEntity<ProblemDetails> problem(ErrorCode code, String detail, HttpServletRequest request) {
+        metrics.recordError(code);
+        ProblemTemplate template = ProblemTemplate.of(code);
+        return ResponseEntity.status(template.status()).body(template.problem(detail, request.getRequestURI()));
     }
 
     // =====================================================================
@@ -50,24 +55,12 @@ public class GlobalExceptionHandler {
                 .map(e -> e.getField() + ": " + e.getDefaultMessage())
                 .collect(Collectors.joining(", "));
 
-        return ResponseEntity.badRequest().body(
-                buildProblem("https://authservice/errors/validation-error",
-                        HttpStatus.BAD_REQUEST,
-                        detail,
-                        req,
-                        ErrorCode.VALIDATION_ERROR)
-        );
+        return problem(ErrorCode.VALIDATION_ERROR, detail, req);
     }
 
     @ExceptionHandler({MethodArgumentTypeMismatchException.class, HttpMessageNotReadableException.class, IllegalArgumentException.class})
     public ResponseEntity<ProblemDetails> handleBadRequest(Exception ex, HttpServletRequest req) {
-        return ResponseEntity.badRequest().body(
-                buildProblem("https://authservice/errors/bad-request",
-                        HttpStatus.BAD_REQUEST,
-                        ex.getMessage(),
-                        req,
-                        ErrorCode.BAD_REQUEST)
-        );
+        return problem(ErrorCode.BAD_REQUEST, ex.getMessage(), req);
     }
 
     // =====================================================================
@@ -76,38 +69,35 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ProblemDetails> handleBadCreds(BadCredentialsException ex, HttpServletRequest req) {
         log.warn("Invalid credentials: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                buildProblem("https://authservice/errors/invalid-credentials",
-                        HttpStatus.UNAUTHORIZED,
-                        "Invalid username or password",
-                        req,
-                        ErrorCode.INVALID_CREDENTIALS)
-        );
+        return problem(ErrorCode.INVALID_CREDENTIALS, null, req);
+    }
+
+    /**
+     * Only the temporary lockout after failed logins; suspended accounts are disabled, see {@link #handleDisabled}.
+     */
+    @ExceptionHandler(LockedException.class)
+    public ResponseEntity<ProblemDetails> handleLocked(LockedException ex, HttpServletRequest req) {
+        log.warn("Account locked: {}", ex.getMessage());
+        return problem(ErrorCode.ACCOUNT_LOCKED, null, req);
+    }
+
+    @ExceptionHandler(DisabledException.class)
+    public ResponseEntity<ProblemDetails> handleDisabled(DisabledException ex, HttpServletRequest req) {
+        log.warn("Account disabled: {}", ex.getMessage());
+        return problem(ErrorCode.ACCOUNT_DISABLED, null, req);
     }
 
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ProblemDetails> handleAccessDenied(AccessDeniedException ex, HttpServletRequest req) {
         log.warn("Access denied: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
-                buildProblem("https://authservice/errors/forbidden",
-                        HttpStatus.FORBIDDEN,
-                        "Access denied",
-                        req,
-                        ErrorCode.FORBIDDEN)
-        );
+        auditService.record(AuditEventType.ACCESS_DENIED, null, req.getMethod() + " " + req.getRequestURI());
+        return problem(ErrorCode.FORBIDDEN, null, req);
     }
 
     @ExceptionHandler(InvalidTokenException.class)
-    public ResponseEntity<ProblemDetails> handleInvalidToken(InvalidTokenException ex) {
+    public ResponseEntity<ProblemDetails> handleInvalidToken(InvalidTokenException ex, HttpServletRequest req) {
         log.warn("invalid_token: {}", ex.getMessage());
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
-                buildProblem("https://authservice/errors/invlalid-token",
-                        HttpStatus.UNAUTHORIZED,
-                        "Invalid or expired token",
-                        null,
-                        ErrorCode.UNAUTHORIZED)
-        );
+        return problem(ErrorCode.UNAUTHORIZED, null, req);
     }
 
     // =====================================================================
@@ -115,13 +105,7 @@ public class GlobalExceptionHandler {
     // =====================================================================
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ProblemDetails> handleNotFound(ResourceNotFoundException ex, HttpServletRequest req) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
-                buildProblem("https://authservice/errors/resource-not-found",
-                        HttpStatus.NOT_FOUND,
-                        ex.getMessage(),
-                        req,
-                        ErrorCode.RESOURCE_NOT_FOUND)
-        );
+        return problem(ErrorCode.RESOURCE_NOT_FOUND, ex.getMessage(), req);
     }
 
     @ExceptionHandler({DuplicateResourceException.class, DataIntegrityViolationException.class})
@@ -131,11 +115,7 @@ public class GlobalExceptionHandler {
                 : ex.getMessage();
 
         log.warn("Conflict: {}", ex.getMessage());
-
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(
-                buildProblem("https://authservice/errors/conflict",
-                        HttpStatus.CONFLICT, msg, req, ErrorCode.DUPLICATE_RESOURCE)
-        );
+        return problem(ErrorCode.DUPLICATE_RESOURCE, msg, req);
     }
 
     // =====================================================================
@@ -144,12 +124,6 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetails> handleGeneric(Exception ex, HttpServletRequest req) {
         log.error("Unexpected error", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                buildProblem("https://authservice/errors/internal-error",
-                        HttpStatus.INTERNAL_SERVER_ERROR,
-                        "An unexpected error occurred",
-                        req,
-                        ErrorCode.INTERNAL_ERROR)
-        );
+        return problem(ErrorCode.INTERNAL_ERROR, null, req);
     }
 }
@@ -0,0 +1,146 @@
+package com.abrahamlara.authservice.shared.exceptions;
+
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import com.abrahamlara.authservice.shared.dto.ProblemDetails;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import tools.jackson.core.io.JsonStringEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * The fixed part of the problem response for one {@link ErrorCode}: type URI, status, title and the default detail.
+ * <p>
+ * Templates are built once per code. {@link #problem} fills in the request-specific fields for
+ * {@link GlobalExceptionHandler}; {@link #write} is the path for filters, which write the same JSON straight to the
+ * response from pre-encoded fragments.
+ */
+public final class ProblemTemplate {
+
+    private static final String TYPE_PREFIX = "https://authservice/errors/";
+    private static final byte[] INSTANCE = ascii(",\"instance\":\"");
+    private static final byte[] TIMESTAMP = ascii("\",\"timestamp\":\"");
+    private static final byte[] TIMESTAMP_WITHOUT_INSTANCE = ascii(",\"timestamp\":\"");
+
+    private static final ProblemTemplate[] TEMPLATES = new ProblemTemplate[ErrorCode.values().length];
+
+    static {
+        register(ErrorCode.BAD_REQUEST, HttpStatus.BAD_REQUEST, "bad-request", null);
+        register(ErrorCode.VALIDATION_ERROR, HttpStatus.BAD_REQUEST, "validation-error", null);
+        register(ErrorCode.JSON_PARSE_ERROR, HttpStatus.BAD_REQUEST, "json-parse-error", null);
+        register(ErrorCode.INVALID_CREDENTIALS, HttpStatus.UNAUTHORIZED, "invalid-credentials",
+                "Invalid username or password");
+        // Published type URI, kept as clients already match on it
+        register(ErrorCode.UNAUTHORIZED, HttpStatus.UNAUTHORIZED, "invlalid-token", "Invalid or expired token");
+        register(ErrorCode.FORBIDDEN, HttpStatus.FORBIDDEN, "forbidden", "Access denied");
+        register(ErrorCode.RESOURCE_NOT_FOUND, HttpStatus.NOT_FOUND, "resource-not-found", null);
+        register(ErrorCode.DUPLICATE_RESOURCE, HttpStatus.CONFLICT, "conflict", null);
+        register(ErrorCode.ACCOUNT_LOCKED, HttpStatus.LOCKED, "account-locked",
+                "Account temporarily locked after too many failed login attempts");
+        register(ErrorCode.ACCOUNT_DISABLED, HttpStatus.FORBIDDEN, "account-disabled", "Account is disabled");
+        register(ErrorCode.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS, "too-many-requests", null);
+        register(ErrorCode.CONTENT_TOO_LARGE, HttpStatus.CONTENT_TOO_LARGE, "content-too-large", null);
+        register(ErrorCode.INTERNAL_ERROR, HttpStatus.INTERNAL_SERVER_ERROR, "internal-error",
+                "An unexpected error occurred");
+    }
+
+    private final ErrorCode code;
+    private final HttpStatus status;
+    private final String type;
+    private final String detail;
+
+    // {"type":...,"title":...,"status":N
+    private final byte[] head;
+    // ,"detail":"..." for the default detail, empty without one
+    private final byte[] defaultDetail;
+    // ","code":"..."}
+    private final byte[] tail;
+
+    private ProblemTemplate(ErrorCode code, HttpStatus status, String type, String detail) {
+        this.code = code;
+        this.status = status;
+        this.type = type;
+        this.detail = detail;
+        this.head = utf8("{\"type\":\"" + quote(type) + "\",\"title\":\"" + quote(status.getReasonPhrase())
+                + "\",\"status\":" + status.value());
+        this.defaultDetail = detail == null ? new byte[0] : detailField(detail);
+        this.tail = utf8("\",\"code\":\"" + code.name() + "\"}");
+    }
+
+    private static void register(ErrorCode code, HttpStatus status, String slug, String detail) {
+        TEMPLATES[code.ordinal()] = new ProblemTemplate(code, status, TYPE_PREFIX + slug, detail);
+    }
+
+    public static ProblemTemplate of(ErrorCode code) {
+        return TEMPLATES[code.ordinal()];
+    }
+
+    public ErrorCode code() {
+        return code;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    /**
+     * @param detail   null for the template's default detail
+     * @param instance URI of the request
+     */
+    public ProblemDetails problem(String detail, String instance) {
+        return new ProblemDetails(type, status.getReasonPhrase(), status.value(), detail != null ? detail : this.detail,
+                instance, Instant.now(), code);
+    }
+
+    /**
+     * Sets the status and writes the problem as {@code application/problem+json}, without going through Jackson.
+     *
+     * @param detail null for the template's default detail
+     */
+    public void write(HttpServletResponse response, String detail, String instance) throws IOException {
+        byte[] body = toJson(detail, instance, Instant.now());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * The same JSON Jackson writes for {@link #problem}: fields in record order, nulls left out.
+     */
+    byte[] toJson(String detail, String instance, Instant timestamp) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.writeBytes(head);
+        out.writeBytes(detail == null ? defaultDetail : detailField(detail));
+        if (instance != null) {
+            out.writeBytes(INSTANCE);
+            out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(instance));
+            out.writeBytes(TIMESTAMP);
+        } else {
+            out.writeBytes(TIMESTAMP_WITHOUT_INSTANCE);
+        }
+        out.writeBytes(ascii(timestamp.toString()));
+        out.writeBytes(tail);
+        return out.toByteArray();
+    }
+
+    private static byte[] detailField(String detail) {
+        return utf8(",\"detail\":\"" + quote(detail) + "\"");
+    }
+
+    private static String quote(String value) {
+        return new String(JsonStringEncoder.getInstance().quoteAsCharArray(value));
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -1,7 +1,10 @@
 package com.abrahamlara.authservice.shared.exceptions;
 
+/**
+ * Thrown when a requested resource does not exist. Expected and answered from a problem template, so no stack trace is captured.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
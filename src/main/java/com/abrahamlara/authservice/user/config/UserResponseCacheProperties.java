@@ -0,0 +1,25 @@
+package com.abrahamlara.authservice.user.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-memory cache of user responses keyed by id. Entries carry the entity version for ETags and are kept
+ * current only by invalidation events.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "user.response-cache")
+public class UserResponseCacheProperties {
+
+    private boolean enabled = true;
+    // Beyond this, an arbitrary entry is evicted for every new one
+    private int maxEntries = 10_000;
+    // How long a miss waits for the load of the same user already running before failing
+    private Duration coalesceTimeout = Duration.ofSeconds(5);
+}
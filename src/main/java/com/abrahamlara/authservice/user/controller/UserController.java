@@ -1,5 +1,6 @@
 package com.abrahamlara.authservice.user.controller;
 
+import com.abrahamlara.authservice.shared.dto.Versioned;
 import com.abrahamlara.authservice.user.dto.*;
 import com.abrahamlara.authservice.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,9 +9,11 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 
@@ -19,6 +22,9 @@ import java.net.URI;
 @RequiredArgsConstructor
 public class UserController {
 
+    // Replaces Spring Security's no-store default: clients may keep the body but must revalidate it with the ETag
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
 
     @GetMapping
@@ -38,8 +44,13 @@ public class UserController {
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get user by id")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest request) {
+        Versioned<UserResponse> user = userService.getUserWithVersion(id);
+        String etag = etag("u", user.id(), user.version());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(user.body());
     }
 
     @PostMapping
@@ -68,7 +79,19 @@ public class UserController {
     @GetMapping("/profile")
     @PreAuthorize("hasAuthority('USER_READ') or hasRole('ADMIN')")
     @Operation(summary = "Get current authenticated user profile")
-    public ResponseEntity<UserProfileResponse> profile() {
-        return ResponseEntity.ok(userService.profile());
+    public ResponseEntity<UserProfileResponse> profile(WebRequest request) {
+        Versioned<UserProfileResponse> profile = userService.profileWithVersion();
+        String etag = etag("p", profile.id(), profile.version());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(profile.body());
+    }
+
+    /**
+     * Strong ETag from the entity identity and its {@code @Version}; the prefix tells the representations apart.
+     */
+    private static String etag(String representation, Long id, long version) {
+        return "\"" + representation + id + "-" + version + "\"";
     }
 }
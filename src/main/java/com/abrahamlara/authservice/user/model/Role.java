@@ -1,6 +1,11 @@
 package com.abrahamlara.authservice.user.model;
 
 import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -26,8 +31,15 @@ public enum Role {
     }
 
     private final Set<Permission> permissions;
+    // Role authority followed by the permissions, built once and shared by every principal with this role
+    private final List<GrantedAuthority> authorities;
+
     Role(Set<Permission> permissions) {
         this.permissions = permissions;
+        List<GrantedAuthority> granted = new ArrayList<>(permissions.size() + 1);
+        granted.add(new SimpleGrantedAuthority(asAuthority()));
+        permissions.forEach(permission -> granted.add(new SimpleGrantedAuthority(permission.name())));
+        this.authorities = List.copyOf(granted);
     }
 
 }
@@ -9,12 +9,24 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
+/**
+ * Cached in the second-level cache by id and by username (its natural id). READ_WRITE with the
+ * {@code @Version} column keeps a load that raced with an update from overwriting the newer cached state.
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Getter
 @Builder(toBuilder = true)
 @NoArgsConstructor
@@ -28,12 +40,16 @@ import java.time.LocalDateTime;
 )
 public class User {
 
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank
     @Size(min = 3, max = 50)
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 50)
     private String username;
 
@@ -65,10 +81,27 @@ public class User {
     @Version
     private Long version;
 
+    // Login lockout state, written only by LoginAttemptService's JDBC batches. Read-only for JPA: the flush
+    // does not bump @Version, so an entity update would otherwise write back a stale (possibly cached) copy
+    @Column(nullable = false, columnDefinition = "integer default 0", insertable = false, updatable = false)
+    private int failedLoginAttempts;
+
+    @Column(insertable = false, updatable = false)
+    private Instant lockedUntil;
+
+    // Embedded in issued tokens; bumping it revokes every token issued before
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long tokenVersion;
+
     // Domain mutators
     public void changeUsername(String username) { this.username = username; }
     public void changeEmail(String email) { this.email = email; }
     public void changePassword(String password) { this.password = password; }
     public void changeRole(Role role) { this.role = role; }
     public void changeStatus(UserStatus status) { this.status = status; }
+    public void bumpTokenVersion() { this.tokenVersion++; }
+
+    public boolean isLockedAt(Instant now) {
+        return lockedUntil != null && lockedUntil.isAfter(now);
+    }
 }
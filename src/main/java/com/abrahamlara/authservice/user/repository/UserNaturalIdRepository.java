@@ -0,0 +1,17 @@
+package com.abrahamlara.authservice.user.repository;
+
+import com.abrahamlara.authservice.user.model.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups through Hibernate's natural-id API, served by the second-level cache when the user is in it.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Loads outside any surrounding transaction: a cache hit needs no connection, a miss reads from the primary.
+     * The returned user is detached.
+     */
+    Optional<User> loadByUsername(String username);
+}
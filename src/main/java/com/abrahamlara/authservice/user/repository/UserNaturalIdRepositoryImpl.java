@@ -0,0 +1,25 @@
+package com.abrahamlara.authservice.user.repository;
+
+import com.abrahamlara.authservice.user.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.Optional;
+
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private final SessionFactory sessionFactory;
+
+    UserNaturalIdRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public Optional<User> loadByUsername(String username) {
+        // Own short-lived session: the connection is only acquired if the cache misses
+        try (Session session = sessionFactory.openSession()) {
+            return session.bySimpleNaturalId(User.class).loadOptional(username);
+        }
+    }
+}
@@ -4,13 +4,21 @@ import com.abrahamlara.authservice.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        UserNaturalIdRepository {
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * Read-only so that, called outside a transaction (user lookups during authentication), it is routed to the
+     * replica; Spring Data does not make declared query methods transactional on its own.
+     */
+    @Transactional(readOnly = true)
     Optional<User> findByUsernameOrEmail(String username, String email);
 
     boolean existsByUsername(String username);
@@ -0,0 +1,160 @@
+package com.abrahamlara.authservice.user.service;
+
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.config.invalidation.InvalidationListener;
+import com.abrahamlara.authservice.shared.concurrent.SingleFlight;
+import com.abrahamlara.authservice.shared.dto.Versioned;
+import com.abrahamlara.authservice.shared.exceptions.ResourceNotFoundException;
+import com.abrahamlara.authservice.user.config.UserResponseCacheProperties;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.mapper.UserMapper;
+import com.abrahamlara.authservice.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User responses by id, with the {@code @Version} they were built from, so conditional GETs and repeated reads
+ * of the same user skip the entity load.
+ * <p>
+ * A hit is not validated against the database. Entries are dropped on every node through the {@link com.abrahamlara.authservice.config.invalidation.InvalidationBus}
+ * when the user changes. Misses are loaded in a read-write transaction, which always goes to the primary:
+ * a lagging replica could otherwise put an outdated response in the cache after the invalidation.
+ * Concurrent misses of the same user share one load.
+ */
+@Component
+public class UserResponseCache implements InvalidationListener {
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final TransactionOperations transactionOperations;
+    private final UserResponseCacheProperties properties;
+
+    private final Map<Long, Versioned<UserResponse>> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final SingleFlight<Long, Versioned<UserResponse>> loads;
+
+    public UserResponseCache(UserRepository userRepository, UserMapper userMapper,
+                             TransactionOperations transactionOperations, UserResponseCacheProperties properties,
+                             MeterRegistry registry) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+        this.hits = lookupCounter(registry, "hit");
+        this.misses = lookupCounter(registry, "miss");
+        this.loads = new SingleFlight<>(properties.getCoalesceTimeout(), Counter.builder("user.response.cache.coalesced")
+                .description("Misses served by a load of the same user already running")
+                .register(registry));
+    }
+
+    /**
+     * @throws ResourceNotFoundException if there is no user with this id
+     */
+    public Versioned<UserResponse> get(Long id) {
+        Versioned<UserResponse> cached = entries.get(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        long seen = invalidations.get();
+        Versioned<UserResponse> loaded = loads.execute(id, () -> load(id));
+        if (loaded == null) {
+            throw new ResourceNotFoundException("User not found with id: " + id);
+        }
+        if (properties.isEnabled() && invalidations.get() == seen) {
+            evictIfFull();
+            entries.put(id, loaded);
+            if (invalidations.get() != seen) {
+                entries.remove(id);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Copy of the cached responses.
+     */
+    public List<Versioned<UserResponse>> entries() {
+        return List.copyOf(entries.values());
+    }
+
+    /**
+     * Changes whenever a cached response may have been invalidated; take it before reading users for {@link #preload}.
+     */
+    public long invalidationStamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Adds responses read in bulk, unless a change was reported since {@code stamp} was taken.
+     */
+    public void preload(Collection<Versioned<UserResponse>> loaded, long stamp) {
+        if (!properties.isEnabled() || invalidations.get() != stamp) {
+            return;
+        }
+        for (Versioned<UserResponse> response : loaded) {
+            if (entries.size() >= properties.getMaxEntries()) {
+                break;
+            }
+            entries.putIfAbsent(response.id(), response);
+        }
+        if (invalidations.get() != stamp) {
+            loaded.forEach(response -> entries.remove(response.id(), response));
+        }
+    }
+
+    private Versioned<UserResponse> load(Long id) {
+        return transactionOperations.execute(status -> userRepository.findById(id)
+                .map(user -> new Versioned<>(user.getId(), user.getVersion() == null ? 0 : user.getVersion(),
+                        userMapper.toResponse(user)))
+                .orElse(null));
+    }
+
+    private void evictIfFull() {
+        if (entries.size() >= properties.getMaxEntries()) {
+            Iterator<Long> keys = entries.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        // Responses carry no lockout state
+        if (event.userId() != null && event.type() != InvalidationEvent.Type.LOCKOUT_CHANGED) {
+            // Misses counted after this point start a fresh load instead of joining one that may predate the change
+            loads.forget(event.userId());
+            invalidations.incrementAndGet();
+            entries.remove(event.userId());
+        }
+    }
+
+    @Override
+    public void onResync() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("user.response.cache")
+                .description("User response cache lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.abrahamlara.authservice.user.service;
 
+import com.abrahamlara.authservice.shared.dto.Versioned;
 import com.abrahamlara.authservice.user.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +31,11 @@ public interface UserService {
      */
     UserResponse getUserById(Long id);
 
+    /**
+     * Same as {@link #getUserById}, with the entity version the response was built from (for ETags).
+     */
+    Versioned<UserResponse> getUserWithVersion(Long id);
+
     /**
      * Creates a new user in the system.
      */
@@ -50,4 +56,9 @@ public interface UserService {
      * Returns authenticated user context using the current security principal.
      */
     UserProfileResponse profile();
+
+    /**
+     * Same as {@link #profile}, with the entity version the response was built from (for ETags).
+     */
+    Versioned<UserProfileResponse> profileWithVersion();
 }
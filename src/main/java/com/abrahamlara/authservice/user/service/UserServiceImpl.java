@@ -1,5 +1,13 @@
 package com.abrahamlara.authservice.user.service;
 
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import com.abrahamlara.authservice.audit.service.AuditService;
+import com.abrahamlara.authservice.auth.model.TokenAuthentication;
+import com.abrahamlara.authservice.config.invalidation.InvalidationBus;
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.outbox.model.OutboxEventType;
+import com.abrahamlara.authservice.outbox.service.OutboxService;
+import com.abrahamlara.authservice.shared.dto.Versioned;
 import com.abrahamlara.authservice.shared.exceptions.DuplicateResourceException;
 import com.abrahamlara.authservice.shared.exceptions.ResourceNotFoundException;
 import com.abrahamlara.authservice.user.dto.*;
@@ -14,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -24,6 +33,10 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final InvalidationBus invalidationBus;
+    private final AuditService auditService;
+    private final OutboxService outboxService;
+    private final UserResponseCache userResponseCache;
 
     @Override
     public Page<UserResponse> getAllUsers(Pageable pageable) {
@@ -38,9 +51,16 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse getUserById(Long id) {
-        User user = findOrThrow(id);
-        return userMapper.toResponse(user);
+        return getUserWithVersion(id).body();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Versioned<UserResponse> getUserWithVersion(Long id) {
+        // Cache hits need no transaction or connection
+        return userResponseCache.get(id);
     }
 
     @Override
@@ -65,7 +85,13 @@ public class UserServiceImpl implements UserService {
         user.changeRole(request.role());
         user.changeStatus(request.status());
 
-        return userMapper.toResponse(userRepository.save(user));
+        auditService.recordAfterCommit(AuditEventType.USER_CREATED, user.getUsername(),
+                "role=" + user.getRole() + ", status=" + user.getStatus());
+
+        UserResponse response = userMapper.toResponse(userRepository.save(user));
+        outboxService.userChanged(OutboxEventType.USER_CREATED, response);
+        invalidationBus.publish(InvalidationEvent.Type.USER_CHANGED, user.getId(), user.getUsername(), user.getEmail());
+        return response;
     }
 
     @Override
@@ -87,6 +113,11 @@ public class UserServiceImpl implements UserService {
             throw new DuplicateResourceException("Email already exists: " + request.email());
         }
 
+        // Tokens issued under the old credentials or privileges must stop working immediately
+        boolean revokeTokens = request.password() != null
+                || user.getRole() != request.role()
+                || user.getStatus() != request.status();
+
         if (request.password() != null) {
             user.changePassword(passwordEncoder.encode(request.password()));
         }
@@ -95,7 +126,20 @@ public class UserServiceImpl implements UserService {
         user.changeEmail(request.email());
         user.changeRole(request.role());
         user.changeStatus(request.status());
-        return userMapper.toResponse(userRepository.save(user));
+        if (revokeTokens) {
+            user.bumpTokenVersion();
+        }
+        auditService.recordAfterCommit(AuditEventType.USER_UPDATED, user.getUsername(),
+                "id=" + id + ", role=" + user.getRole() + ", status=" + user.getStatus()
+                        + (request.password() != null ? ", password changed" : ""));
+
+        UserResponse response = userMapper.toResponse(userRepository.save(user));
+        outboxService.userChanged(OutboxEventType.USER_UPDATED, response);
+        invalidationBus.publish(InvalidationEvent.Type.USER_CHANGED, id, user.getUsername(), user.getEmail());
+        if (revokeTokens) {
+            invalidationBus.publish(InvalidationEvent.Type.TOKENS_REVOKED, id);
+        }
+        return response;
     }
 
     @Override
@@ -104,23 +148,46 @@ public class UserServiceImpl implements UserService {
         User user = findOrThrow(id);
         // Soft delete — keep record for audit/tracking
         user.changeStatus(UserStatus.INACTIVE);
+        user.bumpTokenVersion();
+        auditService.recordAfterCommit(AuditEventType.USER_DELETED, user.getUsername(), "id=" + id);
+        outboxService.userChanged(OutboxEventType.USER_DELETED, userMapper.toResponse(user));
+        invalidationBus.publish(InvalidationEvent.Type.USER_DELETED, id);
+        invalidationBus.publish(InvalidationEvent.Type.TOKENS_REVOKED, id);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserProfileResponse profile() {
+        return profileWithVersion().body();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Versioned<UserProfileResponse> profileWithVersion() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
 
         if (auth == null || !auth.isAuthenticated()) {
             throw new ResourceNotFoundException("No authenticated user found");
         }
 
-        User user = userRepository.findByUsername(auth.getName()).orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + auth.getName()));
+        // Token-authenticated requests carry the user id: served from the response cache
+        if (auth instanceof TokenAuthentication token) {
+            Versioned<UserResponse> user = userResponseCache.get(token.getUserId());
+            return new Versioned<>(user.id(), user.version(), toProfile(user.body()));
+        }
+
+        User user = userRepository.loadByUsername(auth.getName()).orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + auth.getName()));
+
+        return new Versioned<>(user.getId(), user.getVersion() == null ? 0 : user.getVersion(),
+                toProfile(userMapper.toResponse(user)));
+    }
 
+    private static UserProfileResponse toProfile(UserResponse user) {
         return new UserProfileResponse(
-                user.getUsername(),
-                user.getEmail(),
-                user.getRole().name(),
-                user.getStatus().name()
+                user.username(),
+                user.email(),
+                user.role().name(),
+                user.status().name()
         );
     }
 
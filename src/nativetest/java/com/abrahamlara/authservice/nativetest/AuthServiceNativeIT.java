@@ -0,0 +1,211 @@
+package com.abrahamlara.authservice.nativetest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Black-box tests of the native executable ({@code native.executable}) against a containerised Postgres:
+ * startup time, the JWT login, profile and refresh flow (jjwt, Hibernate and its second-level cache),
+ * rejected tokens and the OpenAPI document (springdoc). Reflection or resources missing from the image only
+ * show up at runtime, so these run the same paths the service takes in production.
+ */
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthServiceNativeIT {
+
+    private static final String PASSWORD = "native-test-password";
+    private static final Duration MAX_STARTUP = Duration.ofMillis(Long.getLong("native.max-startup-millis", 2_000));
+    private static final Pattern TOKEN = Pattern.compile("\"(accessToken|refreshToken)\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern STARTED = Pattern.compile("Started AuthServiceApplication in ([0-9.]+) seconds");
+    private static final Pattern RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private Process process;
+    private Path log;
+    private int port;
+
+    @BeforeAll
+    void start() throws Exception {
+        String executable = System.getProperty("native.executable");
+        assertThat(new File(executable).canExecute()).as("native executable %s", executable).isTrue();
+
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        log = Files.createTempFile("auth-service-native", ".log");
+        ProcessBuilder builder = new ProcessBuilder(executable, "--spring.profiles.active=prod", "--server.port=" + port,
+                "--springdoc.api-docs.enabled=true")
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().putAll(Map.of(
+                "DB_URL", postgres.getJdbcUrl(),
+                "DB_USERNAME", postgres.getUsername(),
+                "DB_PASSWORD", postgres.getPassword(),
+                "DB_POOL_SIZE", "4",
+                "ADMIN_PASSWORD", "admin",
+                "CLIENT_ORIGIN", "http://localhost",
+                "JWT_SECRET", Base64.getEncoder().encodeToString("native-test-secret-native-test-secret-01".getBytes())));
+        process = builder.start();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!STARTED.matcher(Files.readString(log)).find()) {
+            assertThat(process.isAlive()).as("executable exited:%n%s", Files.readString(log)).isTrue();
+            assertThat(System.nanoTime()).as("startup timed out:%n%s", Files.readString(log)).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        seed();
+    }
+
+    @AfterAll
+    void stop() throws Exception {
+        if (process != null) {
+            report();
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * Prints the startup time and the resident set size after all tests, the figures the README compares with the
+     * JVM launches. RSS is read from /proc, so it is only reported on Linux.
+     */
+    private void report() throws IOException {
+        Matcher started = STARTED.matcher(Files.readString(log));
+        String startup = started.find() ? started.group(1) + " s" : "n/a";
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        Matcher rss = RSS.matcher(Files.exists(status) ? Files.readString(status) : "");
+        String resident = rss.find() ? Long.parseLong(rss.group(1)) / 1024 + " MB" : "n/a";
+        System.out.printf("Native executable: started in %s, RSS after tests %s%n", startup, resident);
+    }
+
+    /**
+     * The schema is created by the executable itself, so the user is inserted once it is up.
+     */
+    private void seed() throws Exception {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO users (username, email, password, role, status, created_at, updated_at, version)
+                     VALUES ('native', 'native@native.test', ?, 'ADMIN', 'ACTIVE', now(), now(), 0)
+                     """)) {
+            insert.setString(1, hash);
+            insert.executeUpdate();
+        }
+    }
+
+    @Test
+    void startsWithinTheBudget() throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        assertThat(matcher.find()).isTrue();
+        Duration startup = Duration.ofMillis((long) (Double.parseDouble(matcher.group(1)) * 1000));
+
+        assertThat(startup).isLessThanOrEqualTo(MAX_STARTUP);
+    }
+
+    @Test
+    void issuesUsesAndRefreshesTokens() throws Exception {
+        String[] tokens = login();
+
+        HttpResponse<String> profile = send(HttpRequest.newBuilder(uri("/api/v1/users/profile"))
+                .header("Authorization", "Bearer " + tokens[0])
+                .GET());
+        assertThat(profile.statusCode()).isEqualTo(200);
+        assertThat(profile.body()).contains("\"username\":\"native\"");
+
+        HttpResponse<String> refreshed = send(HttpRequest.newBuilder(uri("/api/v1/auth/refresh-token"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens[0])
+                .POST(HttpRequest.BodyPublishers.ofString("{\"refreshToken\":\"" + tokens[1] + "\"}")));
+        assertThat(refreshed.statusCode()).isEqualTo(200);
+        assertThat(TOKEN.matcher(refreshed.body()).find()).isTrue();
+    }
+
+    @Test
+    void rejectsForgedTokens() throws Exception {
+        String[] tokens = login();
+        String forged = tokens[0].substring(0, tokens[0].lastIndexOf('.') + 1) + "AAAA";
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/users/profile"))
+                .header("Authorization", "Bearer " + forged)
+                .GET());
+
+        assertThat(response.statusCode()).isEqualTo(401);
+    }
+
+    /**
+     * The native profile compiles the API docs in (AOT fixes {@code springdoc.api-docs.enabled} at build time),
+     * so this covers the springdoc and Swagger UI hints.
+     */
+    @Test
+    void servesTheOpenApiDocument() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/v3/api-docs")).GET());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("Auth Service API").contains("/api/v1/auth/login");
+    }
+
+    @Test
+    void reportsHealth() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/actuator/health")).GET());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"status\":\"UP\"");
+    }
+
+    /**
+     * @return access token and refresh token
+     */
+    private String[] login() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"native\",\"password\":\"" + PASSWORD + "\"}")));
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        String[] tokens = new String[2];
+        Matcher matcher = TOKEN.matcher(response.body());
+        while (matcher.find()) {
+            tokens["accessToken".equals(matcher.group(1)) ? 0 : 1] = matcher.group(2);
+        }
+        return tokens;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
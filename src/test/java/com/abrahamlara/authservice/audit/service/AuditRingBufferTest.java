@@ -0,0 +1,72 @@
+package com.abrahamlara.authservice.audit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo_AndRejectsWhenFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    void drainsInInsertionOrder_AndReusesSlots() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                buffer.offer(round * 4 + i);
+            }
+            assertThat(buffer.drain(drained, 3)).isEqualTo(3);
+            assertThat(buffer.drain(drained, 10)).isEqualTo(1);
+        }
+
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducers_LoseNothingThatWasAccepted() throws Exception {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1 << 16);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(base + i);
+                }
+                return null;
+            });
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        start.countDown();
+        pool.shutdown();
+        while (!pool.awaitTermination(1, TimeUnit.MILLISECONDS) || buffer.size() > 0) {
+            buffer.drain(drained, 1024);
+        }
+
+        assertThat(drained).hasSize(producers * perProducer).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,60 @@
+package com.abrahamlara.authservice.audit.service;
+
+import com.abrahamlara.authservice.audit.config.AuditProperties;
+import com.abrahamlara.authservice.audit.model.AuditEvent;
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AuditServiceImplTest {
+
+    private final List<AuditEvent> written = new CopyOnWriteArrayList<>();
+    private final AuditSink sink = written::addAll;
+    private final AuditProperties properties = new AuditProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void writesBufferedEvents_WhenStopped() {
+        AuditServiceImpl service = new AuditServiceImpl(properties, sink, registry);
+        service.start();
+
+        service.record(AuditEventType.LOGIN_SUCCESS, "alice", null);
+        service.record(AuditEventType.LOGIN_FAILURE, "bob", "BadCredentialsException");
+        service.stop();
+
+        assertThat(written).extracting(AuditEvent::type, AuditEvent::subject).containsExactly(
+                tuple(AuditEventType.LOGIN_SUCCESS, "alice"),
+                tuple(AuditEventType.LOGIN_FAILURE, "bob"));
+        assertThat(registry.get("audit.events").tag("outcome", "written").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsEvents_WhenBufferIsFull() {
+        properties.setBufferSize(2);
+        AuditServiceImpl service = new AuditServiceImpl(properties, sink, registry);
+
+        for (int i = 0; i < 5; i++) {
+            service.record(AuditEventType.ACCESS_DENIED, null, "GET /api/v1/users");
+        }
+
+        assertThat(service.pendingEvents()).isEqualTo(2);
+        assertThat(registry.get("audit.events").tag("outcome", "dropped").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void truncatesOversizedSubjects() {
+        AuditServiceImpl service = new AuditServiceImpl(properties, sink, registry);
+        service.start();
+
+        service.record(AuditEventType.LOGIN_FAILURE, "x".repeat(5_000), null);
+        service.stop();
+
+        assertThat(written).singleElement().satisfies(e -> assertThat(e.subject()).hasSize(255));
+    }
+}
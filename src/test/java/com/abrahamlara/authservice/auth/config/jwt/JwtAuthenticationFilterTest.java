@@ -0,0 +1,107 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import com.abrahamlara.authservice.auth.config.revocation.TokenVersionRegistry;
+import com.abrahamlara.authservice.auth.model.AuthUser;
+import com.abrahamlara.authservice.auth.model.TokenAuthentication;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.user.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final TokenVersionRegistry tokenVersions = mock(TokenVersionRegistry.class);
+    private final JwtService jwtService = jwtService();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService,
+            new AuthMetrics(new SimpleMeterRegistry()), tokenVersions);
+
+    private final AuthUser admin = new AuthUser(42L, 3L, "admin", "password", true, true, true, true,
+            Role.ADMIN.getAuthorities());
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutLoadingTheUser() throws Exception {
+        when(tokenVersions.isCurrent(42L, 3L)).thenReturn(true);
+        AuthenticationCapture chain = new AuthenticationCapture();
+
+        filter.doFilter(request(jwtService.generateAccessToken(admin)), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.authentication).isInstanceOf(TokenAuthentication.class);
+        assertThat(chain.authentication.getName()).isEqualTo("admin");
+        assertThat(((TokenAuthentication) chain.authentication).getUserId()).isEqualTo(42L);
+        assertThat(chain.authentication.getAuthorities()).isSameAs(Role.ADMIN.getAuthorities());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void rejectsRevokedTokens() throws Exception {
+        when(tokenVersions.isCurrent(42L, 3L)).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuthenticationCapture chain = new AuthenticationCapture();
+
+        filter.doFilter(request(jwtService.generateAccessToken(admin)), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentType()).isEqualTo("application/problem+json");
+        assertThat(response.getContentAsString())
+                .contains("\"instance\":\"/api/v1/users/profile\"", "\"code\":\"UNAUTHORIZED\"");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void skipsPublicPathsWithoutReadingTheToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        request.addHeader("Authorization", "Bearer not-a-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuthenticationCapture chain = new AuthenticationCapture();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(chain.authentication).isNull();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static JwtService jwtService() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString("filter-test-secret-0123456789abcdef".getBytes()));
+        properties.setAccessTokenExpiration(60_000);
+        properties.setRefreshTokenExpiration(120_000);
+        return new JwtService(properties, new AuthMetrics(new SimpleMeterRegistry()));
+    }
+
+    private static class AuthenticationCapture extends MockFilterChain {
+
+        private Authentication authentication;
+
+        @Override
+        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response)
+                throws java.io.IOException, jakarta.servlet.ServletException {
+            authentication = SecurityContextHolder.getContext().getAuthentication();
+            super.doFilter(request, response);
+        }
+    }
+}
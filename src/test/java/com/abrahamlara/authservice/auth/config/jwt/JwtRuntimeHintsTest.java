@@ -0,0 +1,35 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class JwtRuntimeHintsTest {
+
+    @Test
+    void implementationClassesExistInThisJjwtVersion() {
+        // A jjwt upgrade that moves one of them would otherwise only fail in the native image
+        for (String type : JwtRuntimeHints.IMPLEMENTATION_CLASSES) {
+            assertThatCode(() -> Class.forName(type, false, getClass().getClassLoader()))
+                    .as(type).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void registersConstructorsOfEveryImplementationClass() {
+        RuntimeHints hints = new RuntimeHints();
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (String type : JwtRuntimeHints.IMPLEMENTATION_CLASSES) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+}
@@ -0,0 +1,103 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import com.abrahamlara.authservice.auth.model.AuthUser;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.user.model.Permission;
+import com.abrahamlara.authservice.user.model.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenClaimsTest {
+
+    private static final String SECRET =
+            Base64.getEncoder().encodeToString("token-claims-test-secret-0123456789".getBytes());
+
+    private final AuthUser admin = new AuthUser(42L, 3L, "admin", "password", true, true, true, true,
+            authorities(Role.ADMIN));
+
+    @Test
+    void compactTokensRoundTripAndAreSmaller() {
+        JwtService compact = jwtService(JwtProperties.TokenFormat.COMPACT);
+        JwtService standard = jwtService(JwtProperties.TokenFormat.STANDARD);
+
+        String compactToken = compact.generateAccessToken(admin);
+        TokenClaims claims = compact.decode(compactToken);
+
+        assertThat(claims.isAccess()).isTrue();
+        assertThat(claims.subject()).isEqualTo("admin");
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.tokenVersion()).isEqualTo(3L);
+        assertThat(claims.authorities()).containsExactlyInAnyOrderElementsOf(admin.getAuthorities());
+        assertThat(compactToken.length()).isLessThan(standard.generateAccessToken(admin).length());
+        assertThat(compact.decode(compact.generateRefreshToken(admin)).isRefresh()).isTrue();
+    }
+
+    @Test
+    void decodesStandardTokensWhateverTheConfiguredFormat() {
+        String token = jwtService(JwtProperties.TokenFormat.STANDARD).generateAccessToken(admin);
+
+        TokenClaims claims = jwtService(JwtProperties.TokenFormat.COMPACT).decode(token);
+
+        assertThat(claims.isAccess()).isTrue();
+        assertThat(claims.tokenVersion()).isEqualTo(3L);
+        assertThat(claims.authorities()).containsExactlyInAnyOrderElementsOf(admin.getAuthorities());
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        String token = Jwts.builder()
+                .subject("admin")
+                .claim(TokenClaims.FORMAT_VERSION, 99)
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        assertThatThrownBy(() -> jwtService(JwtProperties.TokenFormat.COMPACT).decode(token))
+                .isInstanceOf(MalformedJwtException.class);
+    }
+
+    @Test
+    void bitmaskCoversEveryRoleAndPermission() {
+        List<GrantedAuthority> all = new ArrayList<>();
+        for (Role role : Role.values()) {
+            all.add(new SimpleGrantedAuthority(role.asAuthority()));
+        }
+        for (Permission permission : Permission.values()) {
+            all.add(new SimpleGrantedAuthority(permission.name()));
+        }
+
+        long mask = AuthorityBitmask.encode(all);
+
+        assertThat(mask).isNotNegative();
+        assertThat(AuthorityBitmask.decode(mask)).containsExactlyInAnyOrderElementsOf(all);
+        assertThat(AuthorityBitmask.encode(List.of(new SimpleGrantedAuthority("ROLE_UNKNOWN")))).isEqualTo(-1);
+    }
+
+    private static JwtService jwtService(JwtProperties.TokenFormat format) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiration(60_000);
+        properties.setRefreshTokenExpiration(120_000);
+        properties.setFormat(format);
+        return new JwtService(properties, new AuthMetrics(new SimpleMeterRegistry()));
+    }
+
+    private static List<GrantedAuthority> authorities(Role role) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority(role.asAuthority()));
+        role.getPermissions().forEach(p -> authorities.add(new SimpleGrantedAuthority(p.name())));
+        return authorities;
+    }
+}
@@ -0,0 +1,77 @@
+package com.abrahamlara.authservice.auth.config.jwt;
+
+import com.abrahamlara.authservice.user.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenIssuerTest {
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor("token-issuer-test-secret-0123456789".getBytes());
+
+    private final TokenIssuer issuer = new TokenIssuer(KEY);
+
+    @Test
+    void standardTokensVerifyWithJjwt() {
+        long mask = AuthorityBitmask.encode(Role.ADMIN.getAuthorities());
+        String subject = "jöhn \"the\" \\ doe 😀";
+        long second = System.currentTimeMillis() / 1000 * 1000;
+
+        String token = issuer.issue(false, TokenClaims.ACCESS, subject, second + 999, second + 60_999,
+                42L, 7L, mask);
+        Claims claims = parse(token);
+
+        assertThat(claims.getSubject()).isEqualTo(subject);
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(second);
+        assertThat(claims.getExpiration().getTime()).isEqualTo(second + 60_000);
+        assertThat(claims.get(TokenClaims.TYPE)).isEqualTo(TokenClaims.ACCESS);
+        assertThat(claims.get(TokenClaims.USER_ID, Long.class)).isEqualTo(42L);
+        assertThat(claims.get(TokenClaims.TOKEN_VERSION, Long.class)).isEqualTo(7L);
+        assertThat(claims.get(TokenClaims.ROLES, List.class)).containsExactlyInAnyOrderElementsOf(
+                Role.ADMIN.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void compactTokensDecodeToTheSameClaims() {
+        long now = System.currentTimeMillis();
+        long mask = AuthorityBitmask.encode(Role.USER.getAuthorities());
+
+        TokenClaims access = TokenClaims.from(parse(issuer.issue(true, TokenClaims.ACCESS, "user", now, now + 60_000,
+                1L, 0L, mask)));
+        TokenClaims refresh = TokenClaims.from(parse(issuer.issue(true, TokenClaims.REFRESH, "user", now, now + 60_000,
+                null, null, TokenIssuer.NO_AUTHORITIES)));
+
+        assertThat(access).isEqualTo(new TokenClaims(TokenClaims.ACCESS, "user", 1L, 0L, Role.USER.getAuthorities()));
+        assertThat(refresh).isEqualTo(new TokenClaims(TokenClaims.REFRESH, "user", null, null, List.of()));
+    }
+
+    @Test
+    void base64UrlMatchesTheJdkEncoder() {
+        for (int length = 0; length < 70; length++) {
+            byte[] src = new byte[length + 3];
+            ThreadLocalRandom.current().nextBytes(src);
+            byte[] dst = new byte[TokenIssuer.encodedLength(length)];
+
+            int end = TokenIssuer.encode(src, 2, length, dst, 0);
+
+            byte[] expected = Base64.getUrlEncoder().withoutPadding()
+                    .encode(Arrays.copyOfRange(src, 2, 2 + length));
+            assertThat(end).isEqualTo(dst.length);
+            assertThat(dst).isEqualTo(expected);
+        }
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parser().verifyWith(KEY).build().parseSignedClaims(token).getPayload();
+    }
+}
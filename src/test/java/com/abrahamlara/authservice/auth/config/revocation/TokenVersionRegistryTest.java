@@ -0,0 +1,66 @@
+package com.abrahamlara.authservice.auth.config.revocation;
+
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenVersionRegistryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TokenVersionRegistry registry = new TokenVersionRegistry(jdbcTemplate);
+
+    @Test
+    void loadsVersionOnceAndServesItFromMemory() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L))).thenReturn(List.of(3L));
+
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+        assertThat(registry.isCurrent(1L, 2)).isFalse();
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), eq(1L));
+        assertThat(registry.cachedVersions()).isEqualTo(1);
+    }
+
+    @Test
+    void reloadsAfterRevocation() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L)))
+                .thenReturn(List.of(0L))
+                .thenReturn(List.of(1L));
+
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+        registry.onInvalidation(new InvalidationEvent(InvalidationEvent.Type.TOKENS_REVOKED, 1L, List.of()));
+
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+        assertThat(registry.isCurrent(1L, 1)).isTrue();
+    }
+
+    @Test
+    void rejectsTokensOfUnknownUsers() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(9L))).thenReturn(List.of());
+
+        assertThat(registry.isCurrent(9L, 0)).isFalse();
+        assertThat(registry.cachedVersions()).isZero();
+    }
+
+    @Test
+    void preloadIsDiscardedWhenAnInvalidationRaced() {
+        long stamp = registry.invalidationStamp();
+        registry.preload(Map.of(1L, 2L), stamp);
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+
+        long stale = registry.invalidationStamp();
+        registry.onInvalidation(new InvalidationEvent(InvalidationEvent.Type.TOKENS_REVOKED, 5L, List.of()));
+        registry.preload(Map.of(3L, 0L), stale);
+
+        assertThat(registry.cachedVersions()).isEqualTo(1);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
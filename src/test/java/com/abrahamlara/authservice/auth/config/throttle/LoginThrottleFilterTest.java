@@ -0,0 +1,65 @@
+package com.abrahamlara.authservice.auth.config.throttle;
+
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleFilterTest {
+
+    private final LoginThrottleProperties properties = new LoginThrottleProperties();
+    private final LoginThrottleFilter filter = new LoginThrottleFilter(new LoginThrottle(properties), properties,
+            JsonMapper.builder().build(), new AuthMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void replaysTheBodyToTheController() throws Exception {
+        String body = "{\"username\":\"jdoe\",\"password\":\"" + "x".repeat(properties.getMaxBodySize() - 40) + "\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(login(body, true), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(body);
+    }
+
+    @Test
+    void rejectsBodiesOverTheLimit() throws Exception {
+        String body = "{\"username\":\"jdoe\",\"password\":\"" + "x".repeat(properties.getMaxBodySize()) + "\"}";
+
+        for (boolean contentLength : new boolean[]{true, false}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(login(body, contentLength), response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(413);
+            assertThat(response.getContentType()).isEqualTo("application/problem+json");
+            assertThat(response.getContentAsString()).contains("\"code\":\"CONTENT_TOO_LARGE\"");
+            assertThat(chain.getRequest()).isNull();
+        }
+    }
+
+    /**
+     * @param contentLength false for a chunked request, whose length is only known once read
+     */
+    private static MockHttpServletRequest login(String body, boolean contentLength) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login") {
+            @Override
+            public long getContentLengthLong() {
+                return contentLength ? bytes.length : -1;
+            }
+        };
+        request.setContentType("application/json");
+        request.setContent(bytes);
+        return request;
+    }
+}
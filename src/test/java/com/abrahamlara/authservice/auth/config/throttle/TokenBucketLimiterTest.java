@@ -0,0 +1,69 @@
+package com.abrahamlara.authservice.auth.config.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private final TokenBucketLimiter limiter =
+            new TokenBucketLimiter(3, Duration.ofSeconds(1), 1_000, clock::get);
+
+    @Test
+    void allowsBurstUpToCapacity_ThenRejectsWithWaitTime() {
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip");
+        }
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isPositive();
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void evictIdle_DropsOnlyRefilledBuckets() {
+        limiter.tryAcquire("idle");
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("busy");
+        }
+
+        clock.addAndGet(Duration.ofMillis(1500).toNanos());
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void memoryStaysBounded_UnderDistinctKeyFlood() {
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(1_000);
+    }
+}
@@ -1,15 +1,33 @@
 package com.abrahamlara.authservice.auth.service;
 
+import com.abrahamlara.authservice.audit.model.AuditEventType;
+import com.abrahamlara.authservice.audit.service.AuditService;
 import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.auth.config.jwt.TokenClaims;
+import com.abrahamlara.authservice.auth.config.revocation.TokenVersionRegistry;
 import com.abrahamlara.authservice.auth.dto.AuthResponse;
 import com.abrahamlara.authservice.auth.dto.LoginRequest;
+import com.abrahamlara.authservice.auth.model.AuthUser;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
 import com.abrahamlara.authservice.shared.dto.InvalidTokenException;
+import com.abrahamlara.authservice.shared.dto.Versioned;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import com.abrahamlara.authservice.user.service.UserResponseCache;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,8 +38,15 @@ class AuthServiceImplTest {
     private final JwtService jwtService = mock(JwtService.class);
     private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
 
+    private final AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+    private final LoginAttemptService loginAttemptService = mock(LoginAttemptService.class);
+    private final AuditService auditService = mock(AuditService.class);
+    private final TokenVersionRegistry tokenVersions = mock(TokenVersionRegistry.class);
+    private final UserResponseCache userResponseCache = mock(UserResponseCache.class);
+
     private final AuthServiceImpl authService =
-            new AuthServiceImpl(authenticationManager, jwtService, userDetailsService);
+            new AuthServiceImpl(authenticationManager, jwtService, userDetailsService, metrics, loginAttemptService,
+                    auditService, tokenVersions, userResponseCache);
 
     @Test
     void login_ReturnsTokensSuccessfully() {
@@ -40,28 +65,118 @@ class AuthServiceImplTest {
         verify(authenticationManager).authenticate(
                 ArgumentMatchers.any(UsernamePasswordAuthenticationToken.class)
         );
+        assertThat(metrics.loginSuccess().count()).isEqualTo(1);
+    }
+
+    @Test
+    void login_RecordsFailure_WhenCredentialsInvalid() {
+        when(authenticationManager.authenticate(ArgumentMatchers.any()))
+                .thenThrow(new BadCredentialsException("bad"));
+
+        assertThatThrownBy(() -> authService.login(new LoginRequest("user", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        assertThat(metrics.loginFailure().count()).isEqualTo(1);
+        verify(loginAttemptService).recordFailure("user");
+        verify(auditService).record(AuditEventType.LOGIN_FAILURE, "user", "BadCredentialsException");
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void login_DoesNotTrackUnknownIdentifiers() {
+        when(authenticationManager.authenticate(ArgumentMatchers.any()))
+                .thenThrow(new BadCredentialsException("bad", new UsernameNotFoundException("unknown")));
+
+        assertThatThrownBy(() -> authService.login(new LoginRequest("nobody", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        verify(loginAttemptService, never()).recordFailure(ArgumentMatchers.anyString());
+        verify(auditService).record(AuditEventType.LOGIN_FAILURE, "nobody", "BadCredentialsException");
+    }
+
+    @Test
+    void login_RejectsLockedIdentifier_BeforeAuthenticating() {
+        when(loginAttemptService.isLocked("user")).thenReturn(true);
+
+        assertThatThrownBy(() -> authService.login(new LoginRequest("user", "password")))
+                .isInstanceOf(LockedException.class);
+
+        verifyNoInteractions(authenticationManager, userDetailsService);
     }
 
     @Test
     void refreshToken_ThrowsException_WhenTokenInvalid() {
-        when(jwtService.isRefreshTokenValid("BAD")).thenReturn(false);
+        when(jwtService.decode("BAD")).thenThrow(new MalformedJwtException("bad"));
 
         assertThatThrownBy(() -> authService.refreshToken("BAD"))
                 .isInstanceOf(InvalidTokenException.class);
     }
 
+    @Test
+    void refreshToken_ThrowsException_WhenAccessTokenUsed() {
+        when(jwtService.decode("ACCESS")).thenReturn(claims(TokenClaims.ACCESS, null, null));
+
+        assertThatThrownBy(() -> authService.refreshToken("ACCESS"))
+                .isInstanceOf(InvalidTokenException.class);
+        verifyNoInteractions(userDetailsService);
+    }
+
     @Test
     void refreshToken_ReturnsNewAccessToken() {
         UserDetails userDetails = mock(UserDetails.class);
 
-        when(jwtService.isRefreshTokenValid("REFRESH")).thenReturn(true);
-        when(jwtService.extractUsername("REFRESH")).thenReturn("user");
+        when(jwtService.decode("REFRESH")).thenReturn(claims(TokenClaims.REFRESH, null, null));
         when(userDetailsService.loadUserByUsername("user")).thenReturn(userDetails);
+        when(userDetails.isEnabled()).thenReturn(true);
         when(jwtService.generateAccessToken(userDetails)).thenReturn("NEW_ACCESS");
 
         AuthResponse response = authService.refreshToken("REFRESH");
 
         assertThat(response.accessToken()).isEqualTo("NEW_ACCESS");
         assertThat(response.refreshToken()).isEqualTo("REFRESH");
+        verify(jwtService, times(1)).decode("REFRESH");
+    }
+
+    @Test
+    void refreshToken_ResolvesVersionedTokensWithoutLoadingTheUser() {
+        when(jwtService.decode("REFRESH")).thenReturn(claims(TokenClaims.REFRESH, 1L, 2L));
+        when(tokenVersions.isCurrent(1L, 2L)).thenReturn(true);
+        when(userResponseCache.get(1L)).thenReturn(new Versioned<>(1L, 5L,
+                new UserResponse(1L, "user", "user@test.com", Role.ADMIN, UserStatus.ACTIVE)));
+        when(jwtService.generateAccessToken(any())).thenReturn("NEW_ACCESS");
+
+        assertThat(authService.refreshToken("REFRESH").accessToken()).isEqualTo("NEW_ACCESS");
+
+        verify(jwtService).generateAccessToken(argThat(user -> user instanceof AuthUser authUser
+                && authUser.getUserId() == 1L
+                && authUser.getTokenVersion() == 2L
+                && authUser.getAuthorities().containsAll(Role.ADMIN.getAuthorities())));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void refreshToken_ThrowsException_WhenTokenVersionRevoked() {
+        when(jwtService.decode("REFRESH")).thenReturn(claims(TokenClaims.REFRESH, 1L, 2L));
+        when(tokenVersions.isCurrent(1L, 2L)).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.refreshToken("REFRESH"))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(jwtService, never()).generateAccessToken(any());
+    }
+
+    @Test
+    void refreshToken_ThrowsException_WhenUserNoLongerActive() {
+        when(jwtService.decode("REFRESH")).thenReturn(claims(TokenClaims.REFRESH, 1L, 2L));
+        when(tokenVersions.isCurrent(1L, 2L)).thenReturn(true);
+        when(userResponseCache.get(1L)).thenReturn(new Versioned<>(1L, 5L,
+                new UserResponse(1L, "user", "user@test.com", Role.USER, UserStatus.INACTIVE)));
+
+        assertThatThrownBy(() -> authService.refreshToken("REFRESH"))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(jwtService, never()).generateAccessToken(any());
+    }
+
+    private static TokenClaims claims(String type, Long userId, Long tokenVersion) {
+        return new TokenClaims(type, "user", userId, tokenVersion, List.of());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,200 @@
+package com.abrahamlara.authservice.auth.service;
+
+import com.abrahamlara.authservice.auth.config.lockout.LoginLockoutProperties;
+import com.abrahamlara.authservice.config.invalidation.InvalidationBus;
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LoginAttemptServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final LoginLockoutProperties properties = new LoginLockoutProperties();
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+
+    private final LoginAttemptService service = new LoginAttemptService(jdbcTemplate,
+            TransactionOperations.withoutTransaction(), properties, invalidationBus, clock::get);
+
+    @Test
+    void locksAfterMaxAttempts_AndUnlocksAfterDuration() {
+        for (int i = 0; i < properties.getMaxAttempts() - 1; i++) {
+            service.recordFailure("user");
+        }
+        assertThat(service.isLocked("user")).isFalse();
+
+        service.recordFailure("user");
+        assertThat(service.isLocked("user")).isTrue();
+
+        clock.addAndGet(properties.getLockDuration().toMillis() + 1);
+        assertThat(service.isLocked("user")).isFalse();
+    }
+
+    @Test
+    void failuresOutsideWindow_DoNotAccumulate() {
+        properties.setFailureWindow(Duration.ofSeconds(10));
+        for (int i = 0; i < properties.getMaxAttempts() - 1; i++) {
+            service.recordFailure("user");
+        }
+
+        clock.addAndGet(11_000);
+        service.recordFailure("user");
+
+        assertThat(service.isLocked("user")).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_CoalescesAttemptsIntoOneRowPerIdentifier() {
+        for (int i = 0; i < 3; i++) {
+            service.recordFailure("alice");
+            service.recordFailure("bob");
+        }
+
+        service.flush();
+
+        var captor = org.mockito.ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(service.pendingWrites()).isZero();
+
+        service.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        // Counters below the limit change no authentication decision: cached users stay valid
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    void flush_AnnouncesUsersWhoseLockChanged() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any())).thenReturn(List.of(7L));
+        for (int i = 0; i < properties.getMaxAttempts(); i++) {
+            service.recordFailure("alice");
+        }
+
+        service.flush();
+
+        verify(invalidationBus).publish(InvalidationEvent.Type.LOCKOUT_CHANGED, 7L);
+    }
+
+    @Test
+    void counterFlushFromAnotherNode_KeepsThePersistedLock() {
+        JdbcTemplate db = sharedUsersRow();
+        LoginAttemptService nodeA = new LoginAttemptService(db, TransactionOperations.withoutTransaction(),
+                properties, invalidationBus, clock::get);
+        LoginAttemptService nodeB = new LoginAttemptService(db, TransactionOperations.withoutTransaction(),
+                properties, invalidationBus, clock::get);
+
+        for (int i = 0; i < properties.getMaxAttempts(); i++) {
+            nodeA.recordFailure("alice");
+        }
+        nodeA.flush();
+        Timestamp locked = row.lockedUntil;
+        assertThat(locked).isNotNull();
+
+        // Node B saw one failure and holds no lock of its own
+        nodeB.recordFailure("alice@example.com");
+        nodeB.flush();
+
+        assertThat(row.lockedUntil).isEqualTo(locked);
+        assertThat(row.failures).isEqualTo(1);
+    }
+
+    @Test
+    void successfulLogin_ClearsThePersistedLock() {
+        JdbcTemplate db = sharedUsersRow();
+        LoginAttemptService node = new LoginAttemptService(db, TransactionOperations.withoutTransaction(),
+                properties, invalidationBus, clock::get);
+        row.failures = 3;
+        row.lockedUntil = new Timestamp(clock.get() - 1);
+
+        node.recordFailure("alice");
+        node.recordSuccess("alice");
+        node.flush();
+
+        assertThat(row.lockedUntil).isNull();
+        assertThat(row.failures).isZero();
+        verify(invalidationBus).publish(InvalidationEvent.Type.LOCKOUT_CHANGED, 7L);
+    }
+
+    @Test
+    void fullTable_EvictsTheOldestFailuresInsteadOfRefusingNewOnes() {
+        properties.setMaxEntries(10);
+        for (int i = 0; i < 10; i++) {
+            service.recordFailure("user" + i);
+            clock.incrementAndGet();
+        }
+        service.flush();
+
+        for (int i = 0; i < properties.getMaxAttempts(); i++) {
+            service.recordFailure("victim");
+        }
+
+        assertThat(service.isLocked("victim")).isTrue();
+        // user0 failed first, so it made room
+        service.recordSuccess("user0");
+        service.recordSuccess("user9");
+        service.flush();
+        verify(jdbcTemplate).batchUpdate(contains("locked_until = NULL"), argThat((List<Object[]> rows) ->
+                rows.size() == 1 && rows.get(0)[0].equals("user9")));
+    }
+
+    @Test
+    void flushFailure_KeepsWritesPending() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+        service.recordFailure("alice");
+
+        service.flush();
+
+        assertThat(service.pendingWrites()).isEqualTo(1);
+    }
+
+    private final UsersRow row = new UsersRow();
+
+    /**
+     * One users row behind both statements of the flush, applying them the way Postgres would.
+     */
+    private JdbcTemplate sharedUsersRow() {
+        JdbcTemplate db = mock(JdbcTemplate.class);
+        when(db.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object[]> rows = invocation.getArgument(1);
+            for (Object[] args : rows) {
+                if (sql.contains("locked_until = NULL")) {
+                    row.failures = 0;
+                    row.lockedUntil = null;
+                } else {
+                    row.failures = (Integer) args[0];
+                    Timestamp lockedUntil = (Timestamp) args[1];
+                    boolean greatest = sql.contains("GREATEST(locked_until, ?)");
+                    if (!greatest || row.lockedUntil == null
+                            || (lockedUntil != null && lockedUntil.after(row.lockedUntil))) {
+                        row.lockedUntil = lockedUntil;
+                    }
+                }
+            }
+            return new int[rows.size()];
+        });
+        when(db.queryForList(anyString(), eq(Long.class), any(), any())).thenReturn(List.of(7L));
+        return db;
+    }
+
+    private static final class UsersRow {
+        private int failures;
+        private Timestamp lockedUntil;
+    }
+}
@@ -0,0 +1,62 @@
+package com.abrahamlara.authservice.auth.service;
+
+import com.abrahamlara.authservice.auth.config.lookup.KnownIdentifierProperties;
+import com.abrahamlara.authservice.auth.config.lookup.KnownIdentifiers;
+import com.abrahamlara.authservice.auth.config.lookup.UserLookupProperties;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.User;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import com.abrahamlara.authservice.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class UserDetailsServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserDetailsServiceImpl service = new UserDetailsServiceImpl(userRepository,
+            new AuthMetrics(new SimpleMeterRegistry()),
+            new KnownIdentifiers(mock(JdbcTemplate.class), new KnownIdentifierProperties()),
+            new UserLookupProperties());
+    private final DaoAuthenticationProvider provider = provider(service);
+
+    @Test
+    void suspendedAccountsAreDisabledNotLocked() {
+        when(userRepository.loadByUsername("jdoe")).thenReturn(Optional.of(user(UserStatus.SUSPENDED, null)));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("jdoe", "password")))
+                .isInstanceOf(DisabledException.class);
+    }
+
+    @Test
+    void temporaryLockoutIsReportedAsLocked() {
+        when(userRepository.loadByUsername("jdoe"))
+                .thenReturn(Optional.of(user(UserStatus.ACTIVE, Instant.now().plusSeconds(600))));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("jdoe", "password")))
+                .isInstanceOf(LockedException.class);
+    }
+
+    private static DaoAuthenticationProvider provider(UserDetailsServiceImpl service) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(service);
+        provider.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+        return provider;
+    }
+
+    private static User user(UserStatus status, Instant lockedUntil) {
+        return User.builder().id(1L).username("jdoe").email("jdoe@test.com").password("password")
+                .role(Role.USER).status(status).lockedUntil(lockedUntil).build();
+    }
+}
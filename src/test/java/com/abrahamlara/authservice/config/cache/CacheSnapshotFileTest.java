@@ -0,0 +1,55 @@
+package com.abrahamlara.authservice.config.cache;
+
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void entriesSurviveARoundTrip() throws IOException {
+        Path path = dir.resolve("snapshots/cache.bin");
+        List<CacheSnapshotFile.Entry> entries = List.of(
+                new CacheSnapshotFile.Entry(1L, 4L,
+                        new UserResponse(1L, "jöhn", "john@example.com", Role.ADMIN, UserStatus.ACTIVE)),
+                new CacheSnapshotFile.Entry(2L, CacheSnapshotFile.Entry.NO_VERSION, null));
+
+        CacheSnapshotFile.write(path, entries);
+        // Overwriting replaces the previous snapshot
+        CacheSnapshotFile.write(path, entries);
+
+        assertThat(CacheSnapshotFile.read(path, 10)).isEqualTo(entries);
+        assertThat(CacheSnapshotFile.read(path, 1)).containsExactly(entries.get(0));
+        try (var files = Files.list(path.getParent())) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    void rejectsForeignAndTruncatedFiles() throws IOException {
+        Path path = dir.resolve("cache.bin");
+        Files.write(path, ByteBuffer.allocate(12).putInt(0xCAFEBABE).putInt(1).putInt(0).array());
+        assertThatThrownBy(() -> CacheSnapshotFile.read(path, 10)).isInstanceOf(IOException.class);
+
+        CacheSnapshotFile.write(path, List.of(new CacheSnapshotFile.Entry(1L, 0L,
+                new UserResponse(1L, "john", "john@example.com", Role.USER, UserStatus.ACTIVE))));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThatThrownBy(() -> CacheSnapshotFile.read(path, 10)).isInstanceOf(IOException.class);
+    }
+}
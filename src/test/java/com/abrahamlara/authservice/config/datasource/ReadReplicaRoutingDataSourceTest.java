@@ -0,0 +1,58 @@
+package com.abrahamlara.authservice.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private final ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica);
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void replicaFailure_FallsBackToPrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.isReplicaAvailable()).isFalse();
+
+        // Subsequent reads skip the replica until the lag monitor marks it healthy again
+        routing.getConnection();
+        verify(replica, times(1)).getConnection();
+    }
+}
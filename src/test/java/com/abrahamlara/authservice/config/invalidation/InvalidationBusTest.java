@@ -0,0 +1,71 @@
+package com.abrahamlara.authservice.config.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class InvalidationBusTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final InvalidationProperties properties = new InvalidationProperties();
+    private final List<InvalidationEvent> received = new ArrayList<>();
+
+    private final InvalidationListener listener = new InvalidationListener() {
+        @Override
+        public void onInvalidation(InvalidationEvent event) {
+            received.add(event);
+        }
+
+        @Override
+        public void onResync() {
+        }
+    };
+
+    private InvalidationBus bus() {
+        var listeners = new StaticListableBeanFactory(Map.of("listener", listener))
+                .getBeanProvider(InvalidationListener.class);
+        InvalidationBus bus = new InvalidationBus(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                new DataSourceProperties(), properties, JsonMapper.builder().build(), listeners,
+                new SimpleMeterRegistry());
+        // Resolves listeners without opening the listening connection
+        properties.setEnabled(false);
+        bus.start();
+        return bus;
+    }
+
+    @Test
+    void publish_NotifiesOtherNodes_AndAppliesLocally() {
+        InvalidationBus bus = bus();
+        properties.setEnabled(true);
+
+        bus.publish(InvalidationEvent.Type.USER_CHANGED, 7L, "alice", "alice@test.com");
+
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("auth_invalidation"), contains("\"userId\":7"));
+        assertThat(received).containsExactly(new InvalidationEvent(
+                InvalidationEvent.Type.USER_CHANGED, 7L, List.of("alice", "alice@test.com")));
+    }
+
+    @Test
+    void publish_WhenDisabled_OnlyAppliesLocally() {
+        InvalidationBus bus = bus();
+
+        bus.publish(InvalidationEvent.Type.TOKENS_REVOKED, 7L);
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(received).extracting(InvalidationEvent::type).containsExactly(InvalidationEvent.Type.TOKENS_REVOKED);
+    }
+}
@@ -0,0 +1,58 @@
+package com.abrahamlara.authservice.config.json;
+
+import com.abrahamlara.authservice.auth.dto.AuthResponse;
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import com.abrahamlara.authservice.shared.dto.ProblemDetails;
+import com.abrahamlara.authservice.user.dto.UserProfileResponse;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSerializersModuleTest {
+
+    private final JsonMapper reflective = JsonMapper.builder().build();
+    private final JsonMapper specialised = JsonMapper.builder().addModule(new ResponseSerializersModule()).build();
+
+    @Test
+    void writesTheSameJsonAsTheReflectiveSerializers() {
+        List<Object> values = List.of(
+                new AuthResponse("a.b.c", "d.e.f"),
+                new AuthResponse(null, null),
+                new UserResponse(42L, "abraham", "abraham@example.com", Role.ADMIN, UserStatus.ACTIVE),
+                new UserResponse(null, "quote\"back\\slash", "ünïcode @example.com", null, null),
+                new UserProfileResponse("abraham", "abraham@example.com", "USER", "LOCKED"),
+                new UserProfileResponse(null, null, null, null),
+                new ProblemDetails("https://authservice/errors/forbidden", "Forbidden", 403, "Access denied",
+                        "/api/v1/users", Instant.parse("2026-01-02T03:04:05.123456789Z"), ErrorCode.FORBIDDEN),
+                new ProblemDetails(null, "Bad Request", 400, null, null, null, null));
+
+        for (Object value : values) {
+            assertThat(specialised.writeValueAsString(value)).isEqualTo(reflective.writeValueAsString(value));
+        }
+    }
+
+    @Test
+    void writesPagesAsContentAndPageMetadata() {
+        PagedModel<UserResponse> page = new PagedModel<>(new PageImpl<>(Arrays.asList(
+                new UserResponse(1L, "one", "one@example.com", Role.USER, UserStatus.ACTIVE),
+                null,
+                new UserResponse(3L, "three", "three@example.com", Role.ADMIN, UserStatus.INACTIVE)),
+                PageRequest.of(1, 3), 7));
+
+        String json = specialised.writeValueAsString(page);
+
+        assertThat(json).isEqualTo(reflective.writeValueAsString(page));
+        assertThat(json).endsWith("\"page\":{\"size\":3,\"number\":1,\"totalElements\":7,\"totalPages\":3}}");
+    }
+}
@@ -0,0 +1,29 @@
+package com.abrahamlara.authservice.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OriginSetCorsConfigurationTest {
+
+    private final OriginSetCorsConfiguration configuration =
+            new OriginSetCorsConfiguration("http://localhost:8081, https://App.example.com/");
+
+    @Test
+    void allowsConfiguredOriginsOnly() {
+        assertThat(configuration.checkOrigin("http://localhost:8081")).isEqualTo("http://localhost:8081");
+        assertThat(configuration.checkOrigin("https://app.example.com")).isEqualTo("https://app.example.com");
+        assertThat(configuration.checkOrigin("http://localhost:8082")).isNull();
+        assertThat(configuration.checkOrigin("https://evil.example.com")).isNull();
+        assertThat(configuration.checkOrigin(null)).isNull();
+        assertThat(configuration.getAllowedOrigins())
+                .containsExactly("http://localhost:8081", "https://App.example.com");
+    }
+
+    @Test
+    void rejectsWildcardOrigins() {
+        assertThatThrownBy(() -> new OriginSetCorsConfiguration("*"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.abrahamlara.authservice.config.security;
+
+import com.abrahamlara.authservice.config.properties.SecurityEndpoints;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PathLookupTest {
+
+    private final PathLookup lookup = PathLookup.of(
+            SecurityEndpoints.PUBLIC, SecurityEndpoints.MONITORING, SecurityEndpoints.SWAGGER);
+
+    @Test
+    void matchesExactPathsAndPrefixes() {
+        assertThat(lookup.matches("/api/v1/auth/login")).isTrue();
+        assertThat(lookup.matches("/actuator/health")).isTrue();
+        assertThat(lookup.matches("/swagger-ui.html")).isTrue();
+        assertThat(lookup.matches("/swagger-ui/index.html")).isTrue();
+        assertThat(lookup.matches("/v3/api-docs")).isTrue();
+        assertThat(lookup.matches("/v3/api-docs/swagger-config")).isTrue();
+    }
+
+    @Test
+    void doesNotMatchNeighbouringPaths() {
+        assertThat(lookup.matches("/api/v1/auth/login/")).isFalse();
+        assertThat(lookup.matches("/api/v1/auth/refresh")).isFalse();
+        assertThat(lookup.matches("/actuator/metrics")).isFalse();
+        assertThat(lookup.matches("/actuator/prometheus")).isFalse();
+        assertThat(lookup.matches("/actuator/healthz")).isFalse();
+        assertThat(lookup.matches("/v3/api-docsx")).isFalse();
+        assertThat(lookup.matches("/api/v1/users/profile")).isFalse();
+    }
+
+    @Test
+    void stripsTheContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/actuator/health");
+        request.setContextPath("/auth");
+
+        assertThat(lookup.matches(request)).isTrue();
+    }
+
+    @Test
+    void rejectsPatternsItCannotCompile() {
+        assertThatThrownBy(() -> PathLookup.of(new String[]{"/api/*/users"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
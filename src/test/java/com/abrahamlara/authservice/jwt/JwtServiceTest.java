@@ -2,7 +2,9 @@ package com.abrahamlara.authservice.jwt;
 
 import com.abrahamlara.authservice.auth.config.jwt.JwtProperties;
 import com.abrahamlara.authservice.auth.config.jwt.JwtService;
+import com.abrahamlara.authservice.config.metrics.AuthMetrics;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -26,7 +28,7 @@ class JwtServiceTest {
         jwtProperties.setAccessTokenExpiration(60_000); // 1 min
         jwtProperties.setRefreshTokenExpiration(120_000);
 
-        jwtService = new JwtService(jwtProperties);
+        jwtService = new JwtService(jwtProperties, new AuthMetrics(new SimpleMeterRegistry()));
 
         userDetails = new User(
                 "johndoe",
@@ -0,0 +1,124 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.config.OutboxProperties;
+import com.abrahamlara.authservice.outbox.model.OutboxEventType;
+import com.abrahamlara.authservice.outbox.model.OutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private static final Instant OCCURRED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OutboxRelayLock lock = mock(OutboxRelayLock.class);
+    private final OutboxSink sink = mock(OutboxSink.class);
+    private final OutboxProperties properties = new OutboxProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final OutboxRelay relay = new OutboxRelay(jdbcTemplate, lock, sink, properties, registry);
+
+    @Test
+    void relay_WhenAnotherInstanceHoldsTheLock_DoesNothing() throws Exception {
+        when(lock.tryAcquire()).thenReturn(false);
+
+        relay.relay();
+
+        verifyNoInteractions(jdbcTemplate, sink);
+        verify(lock, never()).release();
+    }
+
+    @Test
+    void relay_DrainsFullBatches_ThenReleasesTheLock() throws Exception {
+        properties.setBatchSize(2);
+        when(lock.tryAcquire()).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2)))
+                .thenReturn(messages(1, 2), messages(3, 4), messages(5, 5));
+
+        relay.relay();
+
+        var inOrder = inOrder(sink, lock);
+        inOrder.verify(sink).publish(messages(1, 2));
+        inOrder.verify(sink).publish(messages(3, 4));
+        inOrder.verify(sink).publish(messages(5, 5));
+        inOrder.verify(lock).release();
+        assertThat(deletedIds()).containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        assertThat(count("published")).isEqualTo(5);
+    }
+
+    @Test
+    void relay_WhenPublishFails_KeepsTheBatch_AndStops() throws Exception {
+        when(lock.tryAcquire()).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(properties.getBatchSize())))
+                .thenReturn(messages(1, 3));
+        doThrow(new IOException("Webhook answered 503")).when(sink).publish(anyList());
+
+        relay.relay();
+
+        verify(sink, times(1)).publish(anyList());
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+        verify(lock).release();
+        assertThat(count("failed")).isEqualTo(3);
+        assertThat(count("published")).isZero();
+    }
+
+    @Test
+    void relay_WhenTheOutboxIsEmpty_PublishesNothing() throws Exception {
+        when(lock.tryAcquire()).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(properties.getBatchSize())))
+                .thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(sink);
+        verify(lock).release();
+    }
+
+    private static List<OutboxMessage> messages(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new OutboxMessage(id, OutboxEventType.USER_UPDATED, 42L, OCCURRED_AT, "{}"))
+                .toList();
+    }
+
+    /**
+     * Runs each captured DELETE against a mocked connection to read the ids it binds.
+     */
+    private List<List<Long>> deletedIds() throws Exception {
+        ArgumentCaptor<PreparedStatementCreator> deletes = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate, atLeastOnce()).update(deletes.capture());
+
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        ArgumentCaptor<Object[]> ids = ArgumentCaptor.forClass(Object[].class);
+        for (PreparedStatementCreator delete : deletes.getAllValues()) {
+            delete.createPreparedStatement(connection);
+        }
+        verify(connection, times(deletes.getAllValues().size())).createArrayOf(eq("bigint"), ids.capture());
+        return ids.getAllValues().stream()
+                .map(array -> Arrays.stream(array).map(Long.class::cast).toList())
+                .toList();
+    }
+
+    private double count(String outcome) {
+        return registry.get("outbox.events").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.config.OutboxProperties;
+import com.abrahamlara.authservice.outbox.model.OutboxEvent;
+import com.abrahamlara.authservice.outbox.model.OutboxEventType;
+import com.abrahamlara.authservice.outbox.repository.OutboxEventRepository;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    private static final UserResponse USER =
+            new UserResponse(42L, "jdoe", "jdoe@example.com", Role.USER, UserStatus.SUSPENDED);
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final OutboxProperties properties = new OutboxProperties();
+    private final NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+
+    /**
+     * The service behind the same transaction interceptor Spring applies, so {@code MANDATORY} is enforced.
+     */
+    private final OutboxService service = transactional(
+            new OutboxService(outboxEventRepository, properties, JsonMapper.builder().build()));
+
+    @Test
+    void userChanged_OutsideATransaction_IsRejected() {
+        properties.setEnabled(true);
+
+        assertThatThrownBy(() -> service.userChanged(OutboxEventType.USER_UPDATED, USER))
+                .isInstanceOf(IllegalTransactionStateException.class);
+        verifyNoInteractions(outboxEventRepository);
+    }
+
+    @Test
+    void userChanged_InsideTheCallersTransaction_StoresTheEvent() {
+        properties.setEnabled(true);
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> service.userChanged(OutboxEventType.USER_UPDATED, USER));
+
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(event.capture());
+        assertThat(event.getValue().getEventType()).isEqualTo(OutboxEventType.USER_UPDATED);
+        assertThat(event.getValue().getAggregateId()).isEqualTo(42L);
+        assertThat(event.getValue().getPayload()).contains("\"username\":\"jdoe\"").contains("\"status\":\"SUSPENDED\"");
+    }
+
+    @Test
+    void userChanged_WhenDisabled_StoresNothing() {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> service.userChanged(OutboxEventType.USER_DELETED, USER));
+
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    private OutboxService transactional(OutboxService target) {
+        ProxyFactory proxy = new ProxyFactory(target);
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        return (OutboxService) proxy.getProxy();
+    }
+
+    /**
+     * Transaction manager without a resource: a transaction exists while synchronization is active.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
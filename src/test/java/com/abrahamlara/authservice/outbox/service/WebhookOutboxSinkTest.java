@@ -0,0 +1,90 @@
+package com.abrahamlara.authservice.outbox.service;
+
+import com.abrahamlara.authservice.outbox.config.OutboxProperties;
+import com.abrahamlara.authservice.outbox.model.OutboxEventType;
+import com.abrahamlara.authservice.outbox.model.OutboxMessage;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookOutboxSinkTest {
+
+    private static final List<OutboxMessage> BATCH = List.of(new OutboxMessage(
+            17L, OutboxEventType.USER_UPDATED, 42L, Instant.parse("2026-01-01T10:00:00Z"), "{\"id\":42}"));
+
+    private final AtomicReference<byte[]> body = new AtomicReference<>();
+    private final AtomicReference<String> signature = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(204);
+    private final OutboxProperties.Webhook properties = new OutboxProperties.Webhook();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            body.set(exchange.getRequestBody().readAllBytes());
+            signature.set(exchange.getRequestHeaders().getFirst("X-Outbox-Signature"));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        properties.setUrl("http://localhost:" + server.getAddress().getPort() + "/hook");
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void publish_WithSecret_SignsTheExactBody() throws Exception {
+        properties.setSecret("webhook-secret");
+
+        sink().publish(BATCH);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("webhook-secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        assertThat(signature.get()).isEqualTo("sha256=" + HexFormat.of().formatHex(mac.doFinal(body.get())));
+        assertThat(new String(body.get(), StandardCharsets.UTF_8))
+                .contains("\"id\":17")
+                .contains("\"payload\":{\"id\":42}");
+    }
+
+    @Test
+    void publish_WithoutSecret_SendsNoSignature() throws Exception {
+        sink().publish(BATCH);
+
+        assertThat(body.get()).isNotEmpty();
+        assertThat(signature.get()).isNull();
+    }
+
+    @Test
+    void publish_WhenTheWebhookAnswersNon2xx_FailsTheBatch() {
+        status.set(503);
+
+        assertThatThrownBy(() -> sink().publish(BATCH))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("503");
+    }
+
+    private WebhookOutboxSink sink() {
+        return new WebhookOutboxSink(properties, JsonMapper.builder().build());
+    }
+}
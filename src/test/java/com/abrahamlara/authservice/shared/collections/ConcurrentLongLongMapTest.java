@@ -0,0 +1,49 @@
+package com.abrahamlara.authservice.shared.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentLongLongMapTest {
+
+    @Test
+    void storesAndOverwritesValuesAcrossResizes() {
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap(16);
+        for (long key = 0; key < 50_000; key++) {
+            map.put(key, key * 2);
+        }
+        map.put(7, 99);
+
+        assertThat(map.size()).isEqualTo(50_000);
+        assertThat(map.get(7, -1)).isEqualTo(99);
+        assertThat(map.get(49_999, -1)).isEqualTo(99_998);
+        assertThat(map.get(50_000, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void removeKeepsOtherKeysReachable() {
+        ConcurrentLongLongMap map = new ConcurrentLongLongMap(16);
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key);
+        }
+        for (long key = 1; key <= 10_000; key += 2) {
+            map.remove(key);
+        }
+
+        assertThat(map.size()).isEqualTo(5_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key, -1)).isEqualTo(key % 2 == 0 ? key : -1);
+        }
+
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.get(2, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void rejectsReservedKey() {
+        assertThatThrownBy(() -> new ConcurrentLongLongMap().put(Long.MIN_VALUE, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
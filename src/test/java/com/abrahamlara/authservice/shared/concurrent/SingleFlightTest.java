@@ -0,0 +1,120 @@
+package com.abrahamlara.authservice.shared.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final Counter shared = new SimpleMeterRegistry().counter("shared");
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5), shared);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> flight.execute("admin", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "loaded";
+            })));
+        }
+        waitUntil(() -> shared.count() == 7);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        }
+        assertThat(loads).hasValue(1);
+        // Nothing is kept after the load
+        assertThat(flight.execute("admin", () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    void loaderExceptionReachesEveryCaller() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5), shared);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute("admin", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        await(started);
+        Future<String> follower = executor.submit(() -> flight.execute("admin", () -> "not called"));
+        waitUntil(() -> shared.count() == 1);
+        release.countDown();
+
+        for (Future<String> result : List.of(leader, follower)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isInstanceOf(IllegalStateException.class).hasMessage("database down");
+        }
+    }
+
+    @Test
+    void waitingCallerGivesUpAfterTheTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(50), shared);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute("admin", () -> {
+            started.countDown();
+            await(release);
+            return "loaded";
+        }));
+        await(started);
+        Future<String> follower = executor.submit(() -> flight.execute("admin", () -> "not called"));
+
+        try {
+            waitUntil(() -> shared.count() == 1);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .cause().isInstanceOf(SingleFlightTimeoutException.class);
+        } finally {
+            release.countDown();
+        }
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,57 @@
+package com.abrahamlara.authservice.shared.exceptions;
+
+import com.abrahamlara.authservice.config.json.ResponseSerializersModule;
+import com.abrahamlara.authservice.shared.dto.ErrorCode;
+import com.abrahamlara.authservice.shared.dto.InvalidTokenException;
+import com.abrahamlara.authservice.shared.dto.ProblemDetails;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemTemplateTest {
+
+    private static final Instant TIMESTAMP = Instant.parse("2026-01-02T03:04:05.123456789Z");
+
+    private final JsonMapper reflective = JsonMapper.builder().build();
+    private final JsonMapper specialised = JsonMapper.builder().addModule(new ResponseSerializersModule()).build();
+
+    @Test
+    void everyCodeHasATemplate() {
+        for (ErrorCode code : ErrorCode.values()) {
+            assertThat(ProblemTemplate.of(code).code()).isEqualTo(code);
+        }
+    }
+
+    @Test
+    void writesTheSameJsonAsJackson() {
+        String[][] cases = {
+                {null, "/api/v1/auth/login"},
+                {"quote\"back\\slash ünïcode\n", "/api/v1/users/ä"},
+                {null, null},
+        };
+
+        for (ErrorCode code : ErrorCode.values()) {
+            ProblemTemplate template = ProblemTemplate.of(code);
+            for (String[] c : cases) {
+                String json = new String(template.toJson(c[0], c[1], TIMESTAMP), StandardCharsets.UTF_8);
+                ProblemDetails p = template.problem(c[0], c[1]);
+                ProblemDetails expected = new ProblemDetails(p.type(), p.title(), p.status(), p.detail(), p.instance(),
+                        TIMESTAMP, p.code());
+
+                assertThat(json).isEqualTo(reflective.writeValueAsString(expected))
+                        .isEqualTo(specialised.writeValueAsString(expected));
+            }
+        }
+    }
+
+    @Test
+    void expectedExceptionsCarryNoStackTrace() {
+        assertThat(new InvalidTokenException("expired").getStackTrace()).isEmpty();
+        assertThat(new ResourceNotFoundException("missing").getStackTrace()).isEmpty();
+        assertThat(new DuplicateResourceException("taken").getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.abrahamlara.authservice.user.controller;
+
+import com.abrahamlara.authservice.shared.dto.Versioned;
+import com.abrahamlara.authservice.user.dto.UserProfileResponse;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import com.abrahamlara.authservice.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class UserControllerTest {
+
+    private final UserService userService = mock(UserService.class);
+
+    // Spring Security's cache headers, which default to no-store unless the controller set its own
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(userService))
+            .addFilters(new HeaderWriterFilter(List.of(new CacheControlHeadersWriter())))
+            .build();
+
+    @Test
+    void userByIdCarriesAnETagAndMayBeKeptForRevalidation() throws Exception {
+        when(userService.getUserWithVersion(42L)).thenReturn(new Versioned<>(42L, 7,
+                new UserResponse(42L, "abraham", "abraham@example.com", Role.ADMIN, UserStatus.ACTIVE)));
+
+        mvc.perform(get("/api/v1/users/42"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"u42-7\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(header().doesNotExist("Pragma"))
+                .andExpect(jsonPath("$.username").value("abraham"));
+    }
+
+    @Test
+    void userByIdAnswersNotModifiedForTheCurrentETag() throws Exception {
+        when(userService.getUserWithVersion(42L)).thenReturn(new Versioned<>(42L, 7,
+                new UserResponse(42L, "abraham", "abraham@example.com", Role.ADMIN, UserStatus.ACTIVE)));
+
+        mvc.perform(get("/api/v1/users/42").header("If-None-Match", "\"u42-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"u42-7\""))
+                .andExpect(content().string(""));
+
+        mvc.perform(get("/api/v1/users/42").header("If-None-Match", "\"u42-6\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void profileUsesItsOwnETag() throws Exception {
+        when(userService.profileWithVersion()).thenReturn(new Versioned<>(42L, 7,
+                new UserProfileResponse("abraham", "abraham@example.com", "ADMIN", "ACTIVE")));
+
+        mvc.perform(get("/api/v1/users/profile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"p42-7\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+        mvc.perform(get("/api/v1/users/profile").header("If-None-Match", "\"p42-7\""))
+                .andExpect(status().isNotModified());
+        // The user representation's ETag does not validate the profile
+        mvc.perform(get("/api/v1/users/profile").header("If-None-Match", "\"u42-7\""))
+                .andExpect(status().isOk());
+    }
+}
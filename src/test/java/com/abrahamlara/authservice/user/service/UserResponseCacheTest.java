@@ -0,0 +1,57 @@
+package com.abrahamlara.authservice.user.service;
+
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.shared.dto.Versioned;
+import com.abrahamlara.authservice.shared.exceptions.ResourceNotFoundException;
+import com.abrahamlara.authservice.user.config.UserResponseCacheProperties;
+import com.abrahamlara.authservice.user.dto.UserResponse;
+import com.abrahamlara.authservice.user.mapper.UserMapper;
+import com.abrahamlara.authservice.user.model.Role;
+import com.abrahamlara.authservice.user.model.User;
+import com.abrahamlara.authservice.user.model.UserStatus;
+import com.abrahamlara.authservice.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class UserResponseCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserResponseCache cache = new UserResponseCache(userRepository, new UserMapper(),
+            TransactionOperations.withoutTransaction(), new UserResponseCacheProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void servesRepeatedReadsFromMemoryUntilTheUserChanges() {
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user(1L)))
+                .thenReturn(Optional.of(user(2L)));
+
+        Versioned<UserResponse> first = cache.get(1L);
+        assertThat(cache.get(1L)).isSameAs(first);
+        assertThat(first.version()).isEqualTo(1L);
+
+        cache.onInvalidation(new InvalidationEvent(InvalidationEvent.Type.USER_CHANGED, 1L, List.of("user")));
+
+        assertThat(cache.get(1L).version()).isEqualTo(2L);
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void throwsNotFoundForUnknownUsers() {
+        when(userRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cache.get(9L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static User user(long version) {
+        return User.builder().id(1L).username("user").email("user@test.com")
+                .role(Role.USER).status(UserStatus.ACTIVE).version(version).build();
+    }
+}
@@ -1,19 +1,30 @@
 package com.abrahamlara.authservice.user.service;
 
+import com.abrahamlara.authservice.audit.service.AuditService;
+import com.abrahamlara.authservice.auth.model.TokenAuthentication;
+import com.abrahamlara.authservice.config.invalidation.InvalidationBus;
+import com.abrahamlara.authservice.config.invalidation.InvalidationEvent;
+import com.abrahamlara.authservice.outbox.model.OutboxEventType;
+import com.abrahamlara.authservice.outbox.service.OutboxService;
 import com.abrahamlara.authservice.shared.exceptions.DuplicateResourceException;
 import com.abrahamlara.authservice.shared.exceptions.ResourceNotFoundException;
+import com.abrahamlara.authservice.user.config.UserResponseCacheProperties;
 import com.abrahamlara.authservice.user.dto.*;
 import com.abrahamlara.authservice.user.mapper.UserMapper;
 import com.abrahamlara.authservice.user.model.Role;
 import com.abrahamlara.authservice.user.model.User;
 import com.abrahamlara.authservice.user.model.UserStatus;
 import com.abrahamlara.authservice.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class UserServiceImplTest {
@@ -21,9 +32,15 @@ class UserServiceImplTest {
     private final UserRepository userRepository = mock(UserRepository.class);
     private final UserMapper userMapper = mock(UserMapper.class);
     private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+    private final AuditService auditService = mock(AuditService.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final UserResponseCache userResponseCache = new UserResponseCache(userRepository, new UserMapper(),
+            TransactionOperations.withoutTransaction(), new UserResponseCacheProperties(), new SimpleMeterRegistry());
 
     private final UserServiceImpl userService =
-            new UserServiceImpl(userRepository, userMapper, passwordEncoder);
+            new UserServiceImpl(userRepository, userMapper, passwordEncoder, invalidationBus, auditService,
+                    outboxService, userResponseCache);
 
     @Test
     void createUser_ThrowsDuplicate_WhenUsernameExists() {
@@ -54,4 +71,61 @@ class UserServiceImplTest {
 
         verify(mockUser).changeStatus(UserStatus.INACTIVE);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteUser_WritesOutboxEvent() {
+        User user = User.builder().id(1L).username("user").email("user@test.com")
+                .role(Role.USER).status(UserStatus.ACTIVE).build();
+        UserResponse response = new UserResponse(1L, "user", "user@test.com", Role.USER, UserStatus.INACTIVE);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userMapper.toResponse(user)).thenReturn(response);
+
+        userService.deleteUser(1L);
+
+        verify(outboxService).userChanged(OutboxEventType.USER_DELETED, response);
+        verify(invalidationBus).publish(InvalidationEvent.Type.TOKENS_REVOKED, 1L);
+    }
+
+    @Test
+    void updateUser_RevokesTokens_WhenPasswordChanges() {
+        User user = User.builder().id(1L).username("user").email("user@test.com")
+                .role(Role.USER).status(UserStatus.ACTIVE).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.updateUser(1L, new UserUpdateRequest("user", "user@test.com", "new-pass", Role.USER, UserStatus.ACTIVE));
+
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        verify(invalidationBus).publish(InvalidationEvent.Type.TOKENS_REVOKED, 1L);
+    }
+
+    @Test
+    void updateUser_KeepsTokens_WhenOnlyEmailChanges() {
+        User user = User.builder().id(1L).username("user").email("user@test.com")
+                .role(Role.USER).status(UserStatus.ACTIVE).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.updateUser(1L, new UserUpdateRequest("user", "new@test.com", null, Role.USER, UserStatus.ACTIVE));
+
+        assertThat(user.getTokenVersion()).isZero();
+        verify(invalidationBus, never()).publish(InvalidationEvent.Type.TOKENS_REVOKED, 1L);
+    }
+
+    @Test
+    void profile_LoadsByIdFromTokenAuthentication() {
+        User user = User.builder().id(1L).username("user").email("user@test.com")
+                .role(Role.USER).status(UserStatus.ACTIVE).version(3L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        SecurityContextHolder.getContext().setAuthentication(
+                new TokenAuthentication(1L, "user", Role.USER.getAuthorities()));
+        try {
+            assertThat(userService.profile().email()).isEqualTo("user@test.com");
+            assertThat(userService.profileWithVersion().version()).isEqualTo(3L);
+            verify(userRepository, never()).loadByUsername(anyString());
+            verify(userRepository, times(1)).findById(1L);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}